@@ -0,0 +1,31 @@
+package com.flowpilot.transfer.benchmark;
+
+import com.flowpilot.transfer.TransferBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+final class BenchmarkContexts {
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(String executorMode, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.h2.console.enabled", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("transfer.executor.mode", executorMode);
+        properties.putAll(overrides);
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TransferBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+}
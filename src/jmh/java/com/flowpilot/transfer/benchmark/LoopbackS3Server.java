@@ -0,0 +1,143 @@
+package com.flowpilot.transfer.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+final class LoopbackS3Server implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name("loopback-s3-", 0).factory());
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    private LoopbackS3Server(HttpServer server) {
+        this.server = server;
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    static LoopbackS3Server start() throws IOException {
+        return new LoopbackS3Server(HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0));
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void putObject(String bucket, String key, int sizeBytes) {
+        byte[] data = new byte[sizeBytes];
+        SplittableRandom random = new SplittableRandom(sizeBytes);
+        for (int i = 0; i < data.length; i += 8) {
+            long value = random.nextLong();
+            for (int j = 0; j < 8 && i + j < data.length; j++) {
+                data[i + j] = (byte) (value >>> (j * 8));
+            }
+        }
+        objects.put(bucket + "/" + key, data);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath().substring(1);
+            String query = exchange.getRequestURI().getRawQuery() == null ? "" : exchange.getRequestURI().getRawQuery();
+            int slash = path.indexOf('/');
+            String bucket = slash < 0 ? path : path.substring(0, slash);
+            String key = slash < 0 ? "" : path.substring(slash + 1);
+            switch (exchange.getRequestMethod()) {
+                case "HEAD" -> head(exchange, path);
+                case "GET" -> get(exchange, path);
+                case "PUT" -> put(exchange);
+                case "POST" -> post(exchange, bucket, key, query);
+                case "DELETE" -> {
+                    drain(exchange.getRequestBody());
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void head(HttpExchange exchange, String path) throws IOException {
+        byte[] data = objects.get(path);
+        if (data == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("ETag", eTag(path));
+        exchange.getResponseHeaders().set("Content-Length", Long.toString(data.length));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void get(HttpExchange exchange, String path) throws IOException {
+        byte[] data = objects.get(path);
+        if (data == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        int start = 0;
+        int end = data.length - 1;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        if (range != null && range.startsWith("bytes=")) {
+            String[] bounds = range.substring("bytes=".length()).split("-", 2);
+            start = Integer.parseInt(bounds[0]);
+            end = bounds[1].isEmpty() ? end : Math.min(Integer.parseInt(bounds[1]), end);
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + data.length);
+        }
+        int length = end - start + 1;
+        exchange.getResponseHeaders().set("ETag", eTag(path));
+        exchange.sendResponseHeaders(range == null ? 200 : 206, length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(data, start, length);
+        }
+    }
+
+    private void put(HttpExchange exchange) throws IOException {
+        drain(exchange.getRequestBody());
+        exchange.getResponseHeaders().set("ETag", "\"" + UUID.randomUUID() + "\"");
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void post(HttpExchange exchange, String bucket, String key, String query) throws IOException {
+        drain(exchange.getRequestBody());
+        String xml;
+        if (query.startsWith("uploads")) {
+            xml = "<InitiateMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key + "</Key>"
+                    + "<UploadId>" + UUID.randomUUID() + "</UploadId></InitiateMultipartUploadResult>";
+        } else {
+            xml = "<CompleteMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key + "</Key>"
+                    + "<ETag>\"" + UUID.randomUUID() + "-1\"</ETag></CompleteMultipartUploadResult>";
+        }
+        byte[] response = xml.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(response);
+        }
+    }
+
+    private void drain(InputStream body) throws IOException {
+        body.transferTo(OutputStream.nullOutputStream());
+    }
+
+    private String eTag(String path) {
+        return "\"" + Integer.toHexString(path.hashCode()) + "\"";
+    }
+}
@@ -0,0 +1,106 @@
+package com.flowpilot.transfer.benchmark;
+
+import com.flowpilot.transfer.api.CreateTransferJobRequest;
+import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.AttemptStatus;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.StorageType;
+import com.flowpilot.transfer.domain.TransferJob;
+import com.flowpilot.transfer.service.CancellationToken;
+import com.flowpilot.transfer.service.ExecutionOptions;
+import com.flowpilot.transfer.service.TransferCancellations;
+import com.flowpilot.transfer.service.TransferExecutionResult;
+import com.flowpilot.transfer.service.TransferExecutor;
+import com.flowpilot.transfer.service.TransferJobService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-XX:MaxDirectMemorySize=2g"})
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class S3MinioTransferExecutorBenchmark {
+    private static final String SOURCE_BUCKET = "bench-source";
+    private static final String DESTINATION_BUCKET = "bench-destination";
+    private static final String OBJECT_KEY = "bench/object.bin";
+
+    @Param({"8", "32", "64"})
+    private int chunkSizeMb;
+
+    @Param({"1", "4", "16"})
+    private int parallelStreams;
+
+    @Param({"128"})
+    private int objectSizeMb;
+
+    private LoopbackS3Server server;
+    private ConfigurableApplicationContext context;
+    private TransferExecutor executor;
+    private TransferCancellations cancellations;
+    private TransferJob job;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = LoopbackS3Server.start();
+        server.putObject(SOURCE_BUCKET, OBJECT_KEY, objectSizeMb * 1024 * 1024);
+        context = BenchmarkContexts.start("s3-minio", Map.of(
+                "transfer.s3.endpoint", server.endpoint(),
+                "transfer.s3.access-key", "bench",
+                "transfer.s3.secret-key", "bench",
+                "transfer.s3.path-style-access", "true",
+                "transfer.minio.endpoint", server.endpoint(),
+                "transfer.minio.access-key", "bench",
+                "transfer.minio.secret-key", "bench"
+        ));
+        executor = context.getBean(TransferExecutor.class);
+        cancellations = context.getBean(TransferCancellations.class);
+        job = context.getBean(TransferJobService.class).createJob(new CreateTransferJobRequest(
+                new StorageEndpoint(StorageType.S3, SOURCE_BUCKET, "us-east-1", null),
+                new StorageEndpoint(StorageType.MINIO, DESTINATION_BUCKET, "us-east-1", null),
+                OBJECT_KEY,
+                (long) objectSizeMb * 1024 * 1024,
+                5,
+                0,
+                new ChunkPlan(chunkSizeMb, parallelStreams),
+                false
+        ));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        server.close();
+    }
+
+    @Benchmark
+    public TransferExecutionResult transferObject() {
+        CancellationToken token = cancellations.register(job.getId());
+        try {
+            TransferExecutionResult result = executor.execute(job, ExecutionOptions.success(0), token);
+            if (result.status() != AttemptStatus.SUCCESS) {
+                throw new IllegalStateException("Benchmark transfer failed: " + result.failureReason());
+            }
+            return result;
+        } finally {
+            cancellations.unregister(token);
+        }
+    }
+}
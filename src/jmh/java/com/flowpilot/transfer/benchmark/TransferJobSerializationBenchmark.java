@@ -0,0 +1,96 @@
+package com.flowpilot.transfer.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowpilot.transfer.api.CreateTransferJobRequest;
+import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.JobKind;
+import com.flowpilot.transfer.domain.JobStatus;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.StorageType;
+import com.flowpilot.transfer.domain.TransferJob;
+import com.flowpilot.transfer.service.TransferJobPage;
+import com.flowpilot.transfer.service.TransferJobSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransferJobSerializationBenchmark {
+    @Param({"100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private TransferJob job;
+    private TransferJobPage page;
+    private byte[] createRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        objectMapper = context.getBean(ObjectMapper.class);
+        Instant now = Instant.now();
+        StorageEndpoint source = new StorageEndpoint(StorageType.S3, "bench-source", "us-east-1", "incoming");
+        StorageEndpoint destination = new StorageEndpoint(StorageType.MINIO, "bench-destination", "us-east-1", null);
+        job = new TransferJob(UUID.randomUUID(), source, destination, "objects/0.bin", 64L * 1024 * 1024, 5, 3,
+                new ChunkPlan(16, 4), now);
+        List<TransferJobSummary> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            items.add(new TransferJobSummary(UUID.randomUUID(), JobKind.OBJECT, StorageType.S3, "bench-source",
+                    StorageType.MINIO, "bench-destination", "objects/" + i + ".bin", 64L * 1024 * 1024, 5,
+                    JobStatus.PENDING, now, now, null));
+        }
+        page = new TransferJobPage(items, "cursor");
+        createRequest = objectMapper.writeValueAsBytes(new CreateTransferJobRequest(source, destination,
+                "objects/0.bin", 64L * 1024 * 1024, 5, 3, new ChunkPlan(16, 4), false));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] writeJob() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(job);
+    }
+
+    @Benchmark
+    public byte[] writeJobPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public CreateTransferJobRequest readCreateRequest() throws IOException {
+        return objectMapper.readValue(createRequest, CreateTransferJobRequest.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.flowpilot.transfer.benchmark;
+
+import com.flowpilot.transfer.api.CreateTransferJobRequest;
+import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.JobStatus;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.StorageType;
+import com.flowpilot.transfer.domain.TransferJob;
+import com.flowpilot.transfer.service.TransferJobFilter;
+import com.flowpilot.transfer.service.TransferJobPage;
+import com.flowpilot.transfer.service.TransferJobService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TransferJobServiceBenchmark {
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final String[] BUCKETS = {"bench-a", "bench-b", "bench-c", "bench-d"};
+
+    @Param({"10000"})
+    private int seededJobs;
+
+    @Param({"50"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TransferJobService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("simulated", Map.of());
+        service = context.getBean(TransferJobService.class);
+        List<CreateTransferJobRequest> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < seededJobs; i++) {
+            batch.add(request(i));
+            if (batch.size() == SEED_BATCH_SIZE) {
+                service.createJobs(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            service.createJobs(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransferJob createJob() {
+        return service.createJob(request(ThreadLocalRandom.current().nextInt()));
+    }
+
+    @Benchmark
+    public TransferJobPage listPendingJobs() {
+        return service.listJobs(new TransferJobFilter(JobStatus.PENDING, null, null, null, null), null, pageSize);
+    }
+
+    @Benchmark
+    public TransferJobPage listJobsByBucket() {
+        String bucket = BUCKETS[ThreadLocalRandom.current().nextInt(BUCKETS.length)];
+        return service.listJobs(new TransferJobFilter(null, null, bucket, null, null), null, pageSize);
+    }
+
+    @Benchmark
+    public TransferJobPage listSecondPage() {
+        TransferJobFilter filter = new TransferJobFilter(JobStatus.PENDING, null, null, null, null);
+        return service.listJobs(filter, service.listJobs(filter, null, pageSize).nextCursor(), pageSize);
+    }
+
+    @Benchmark
+    public TransferJob scheduleAndCancel() {
+        TransferJob job = service.createJob(request(ThreadLocalRandom.current().nextInt()));
+        service.scheduleJob(job.getId(), Instant.now().plus(1, ChronoUnit.DAYS));
+        return service.cancelJob(job.getId());
+    }
+
+    private static CreateTransferJobRequest request(int seed) {
+        String bucket = BUCKETS[Math.floorMod(seed, BUCKETS.length)];
+        return new CreateTransferJobRequest(
+                new StorageEndpoint(StorageType.S3, bucket, "us-east-1", "incoming"),
+                new StorageEndpoint(StorageType.MINIO, bucket + "-replica", "us-east-1", null),
+                "objects/" + Integer.toHexString(seed) + ".bin",
+                64L * 1024 * 1024,
+                1 + Math.floorMod(seed, 10),
+                3,
+                new ChunkPlan(16, 4),
+                false
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.flowpilot.transfer.api;
+
+import com.flowpilot.transfer.service.BandwidthLimiter;
+import com.flowpilot.transfer.service.BandwidthLimits;
+import jakarta.validation.Valid;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@Validated
+public class AdminController {
+    private final BandwidthLimiter bandwidthLimiter;
+
+    public AdminController(BandwidthLimiter bandwidthLimiter) {
+        this.bandwidthLimiter = bandwidthLimiter;
+    }
+
+    @GetMapping("/bandwidth")
+    public BandwidthLimits getBandwidth() {
+        return bandwidthLimiter.limits();
+    }
+
+    @PutMapping("/bandwidth")
+    public BandwidthLimits updateBandwidth(@Valid @RequestBody BandwidthLimits limits) {
+        return bandwidthLimiter.update(limits);
+    }
+}
@@ -0,0 +1,18 @@
+package com.flowpilot.transfer.api;
+
+import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record CreatePrefixTransferJobRequest(
+        @Valid @NotNull StorageEndpoint source,
+        @Valid @NotNull StorageEndpoint destination,
+        @Min(1) @Max(10) int priority,
+        @Min(0) @Max(10) int maxRetries,
+        @Valid @NotNull ChunkPlan chunkPlan,
+        boolean incremental
+) {
+}
@@ -16,6 +16,7 @@ public record CreateTransferJobRequest(
         @Positive long objectSizeBytes,
         @Min(1) @Max(10) int priority,
         @Min(0) @Max(10) int maxRetries,
-        @Valid @NotNull ChunkPlan chunkPlan
+        @Valid @NotNull ChunkPlan chunkPlan,
+        boolean incremental
 ) {
 }
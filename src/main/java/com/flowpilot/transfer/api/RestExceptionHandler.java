@@ -1,7 +1,10 @@
 package com.flowpilot.transfer.api;
 
+import com.flowpilot.transfer.service.DispatcherSaturatedException;
+import com.flowpilot.transfer.service.InvalidCursorException;
 import com.flowpilot.transfer.service.InvalidTransferStateException;
 import com.flowpilot.transfer.service.NotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -25,6 +28,27 @@ public class RestExceptionHandler {
         return detail;
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        ProblemDetail detail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Job changed state concurrently");
+        detail.setTitle("Invalid transfer state");
+        return detail;
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursor(InvalidCursorException ex) {
+        ProblemDetail detail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        detail.setTitle("Invalid cursor");
+        return detail;
+    }
+
+    @ExceptionHandler(DispatcherSaturatedException.class)
+    public ProblemDetail handleSaturated(DispatcherSaturatedException ex) {
+        ProblemDetail detail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        detail.setTitle("Transfer capacity exhausted");
+        return detail;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleValidation(MethodArgumentNotValidException ex) {
         ProblemDetail detail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Request validation failed");
@@ -1,14 +1,28 @@
 package com.flowpilot.transfer.api;
 
+import com.flowpilot.transfer.domain.JobStatus;
 import com.flowpilot.transfer.domain.TransferJob;
+import com.flowpilot.transfer.service.BulkTransferJobImporter;
 import com.flowpilot.transfer.service.ExecutionOptions;
+import com.flowpilot.transfer.service.NotFoundException;
+import com.flowpilot.transfer.service.TransferAttemptPage;
+import com.flowpilot.transfer.service.TransferJobFilter;
+import com.flowpilot.transfer.service.TransferJobPage;
 import com.flowpilot.transfer.service.TransferJobService;
+import com.flowpilot.transfer.service.TransferObjectResultPage;
+import com.flowpilot.transfer.service.TransferProgress;
+import com.flowpilot.transfer.service.TransferProgressRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -16,9 +30,17 @@ import java.util.UUID;
 @Validated
 public class TransferController {
     private final TransferJobService transferJobService;
+    private final TransferProgressRegistry progressRegistry;
+    private final BulkTransferJobImporter bulkImporter;
 
-    public TransferController(TransferJobService transferJobService) {
+    public TransferController(
+            TransferJobService transferJobService,
+            TransferProgressRegistry progressRegistry,
+            BulkTransferJobImporter bulkImporter
+    ) {
         this.transferJobService = transferJobService;
+        this.progressRegistry = progressRegistry;
+        this.bulkImporter = bulkImporter;
     }
 
     @PostMapping
@@ -27,8 +49,50 @@ public class TransferController {
     }
 
     @GetMapping
-    public List<TransferJob> listTransfers() {
-        return transferJobService.listJobs();
+    public TransferJobPage listTransfers(
+            @RequestParam(required = false) JobStatus status,
+            @RequestParam(required = false) Integer priority,
+            @RequestParam(required = false) String bucket,
+            @RequestParam(required = false) Instant createdFrom,
+            @RequestParam(required = false) Instant createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        TransferJobFilter filter = new TransferJobFilter(status, priority, bucket, createdFrom, createdTo);
+        return transferJobService.listJobs(filter, cursor, limit);
+    }
+
+    @PostMapping("/prefix")
+    public TransferJob createPrefixTransfer(@Valid @RequestBody CreatePrefixTransferJobRequest request) {
+        return transferJobService.createPrefixJob(request);
+    }
+
+    @PostMapping(path = "/bulk", produces = "application/x-ndjson")
+    public void bulkCreateTransfers(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        bulkImporter.importJobs(body, response.getOutputStream());
+    }
+
+    @GetMapping(path = "/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllProgress() {
+        return progressRegistry.subscribe(null);
+    }
+
+    @GetMapping(path = "/{jobId}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProgress(@PathVariable UUID jobId) {
+        SseEmitter emitter = progressRegistry.subscribe(jobId);
+        TransferJob job;
+        try {
+            job = transferJobService.getJob(jobId);
+        } catch (NotFoundException ex) {
+            emitter.complete();
+            throw ex;
+        }
+        JobStatus status = job.getStatus();
+        if (status == JobStatus.COMPLETED || status == JobStatus.FAILED || status == JobStatus.CANCELLED) {
+            progressRegistry.close(emitter, TransferProgress.settled(job));
+        }
+        return emitter;
     }
 
     @GetMapping("/{jobId}")
@@ -36,6 +100,24 @@ public class TransferController {
         return transferJobService.getJob(jobId);
     }
 
+    @GetMapping("/{jobId}/attempts")
+    public TransferAttemptPage listAttempts(
+            @PathVariable UUID jobId,
+            @RequestParam(required = false) Integer afterAttempt,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return transferJobService.listAttempts(jobId, afterAttempt, limit);
+    }
+
+    @GetMapping("/{jobId}/objects")
+    public TransferObjectResultPage listObjectResults(
+            @PathVariable UUID jobId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return transferJobService.listObjectResults(jobId, afterId, limit);
+    }
+
     @PostMapping("/{jobId}/schedule")
     public TransferJob scheduleTransfer(@PathVariable UUID jobId, @RequestBody(required = false) ScheduleTransferRequest request) {
         Instant scheduledAt = request != null && request.scheduledAt() != null ? request.scheduledAt() : Instant.now();
@@ -43,11 +125,13 @@ public class TransferController {
     }
 
     @PostMapping("/{jobId}/start")
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public TransferJob startTransfer(@PathVariable UUID jobId, @RequestBody(required = false) ExecuteTransferRequest request) {
         return transferJobService.startJob(jobId, toExecutionOptions(request));
     }
 
     @PostMapping("/{jobId}/retry")
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public TransferJob retryTransfer(@PathVariable UUID jobId, @RequestBody(required = false) ExecuteTransferRequest request) {
         return transferJobService.retryJob(jobId, toExecutionOptions(request));
     }
@@ -2,5 +2,7 @@ package com.flowpilot.transfer.domain;
 
 public enum AttemptStatus {
     SUCCESS,
-    FAILED
+    FAILED,
+    SKIPPED,
+    CANCELLED
 }
@@ -1,25 +1,43 @@
 package com.flowpilot.transfer.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Embeddable
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ChunkPlan {
-    @Min(1)
+    @Min(0)
     private int chunkSizeMb;
 
-    @Min(1)
+    @Min(0)
     private int parallelStreams;
 
+    @ColumnDefault("false")
+    private boolean autoTune;
+
     public ChunkPlan(int chunkSizeMb, int parallelStreams) {
         this.chunkSizeMb = chunkSizeMb;
         this.parallelStreams = parallelStreams;
     }
+
+    public ChunkPlan(int chunkSizeMb, int parallelStreams, boolean autoTune) {
+        this.chunkSizeMb = chunkSizeMb;
+        this.parallelStreams = parallelStreams;
+        this.autoTune = autoTune;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "chunkSizeMb and parallelStreams must be at least 1 unless autoTune is set")
+    public boolean isSized() {
+        return autoTune || (chunkSizeMb >= 1 && parallelStreams >= 1);
+    }
 }
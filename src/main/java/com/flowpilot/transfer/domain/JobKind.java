@@ -0,0 +1,6 @@
+package com.flowpilot.transfer.domain;
+
+public enum JobKind {
+    OBJECT,
+    PREFIX
+}
@@ -0,0 +1,48 @@
+package com.flowpilot.transfer.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "multipart_checkpoints")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MultipartCheckpoint {
+    @Id
+    private UUID jobId;
+
+    private String uploadId;
+    private String bucket;
+    private String objectKey;
+    private String sourceETag;
+    private long objectSizeBytes;
+    private long partSizeBytes;
+    private Instant createdAt;
+
+    public MultipartCheckpoint(
+            UUID jobId,
+            String uploadId,
+            String bucket,
+            String objectKey,
+            String sourceETag,
+            long objectSizeBytes,
+            long partSizeBytes,
+            Instant createdAt
+    ) {
+        this.jobId = jobId;
+        this.uploadId = uploadId;
+        this.bucket = bucket;
+        this.objectKey = objectKey;
+        this.sourceETag = sourceETag;
+        this.objectSizeBytes = objectSizeBytes;
+        this.partSizeBytes = partSizeBytes;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.flowpilot.transfer.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "multipart_checkpoint_parts", indexes = {
+        @Index(name = "idx_checkpoint_parts_job_id", columnList = "job_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MultipartCheckpointPart {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checkpoint_part_seq")
+    @SequenceGenerator(name = "checkpoint_part_seq", sequenceName = "checkpoint_part_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    private int partNumber;
+    private String eTag;
+    private long sizeBytes;
+
+    public MultipartCheckpointPart(UUID jobId, int partNumber, String eTag, long sizeBytes) {
+        this.jobId = jobId;
+        this.partNumber = partNumber;
+        this.eTag = eTag;
+        this.sizeBytes = sizeBytes;
+    }
+}
@@ -2,5 +2,6 @@ package com.flowpilot.transfer.domain;
 
 public enum StorageType {
     S3,
-    MINIO
+    MINIO,
+    LOCAL
 }
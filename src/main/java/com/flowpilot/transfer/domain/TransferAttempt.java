@@ -10,7 +10,9 @@ import lombok.Setter;
 import java.time.Instant;
 
 @Entity
-@Table(name = "transfer_attempts")
+@Table(name = "transfer_attempts", indexes = {
+        @Index(name = "idx_transfer_attempts_job_attempt", columnList = "job_id, attempt_number", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -28,6 +30,10 @@ public class TransferAttempt {
     private Instant finishedAt;
     private String failureReason;
     private double throughputMbps;
+    private Integer chunkSizeMb;
+    private Integer parallelStreams;
+    private Integer partRetries;
+    private Long objectSizeBytes;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", nullable = false)
@@ -40,7 +46,9 @@ public class TransferAttempt {
             Instant startedAt,
             Instant finishedAt,
             String failureReason,
-            double throughputMbps
+            double throughputMbps,
+            Integer chunkSizeMb,
+            Integer parallelStreams
     ) {
         this.attemptNumber = attemptNumber;
         this.status = status;
@@ -48,5 +56,7 @@ public class TransferAttempt {
         this.finishedAt = finishedAt;
         this.failureReason = failureReason;
         this.throughputMbps = throughputMbps;
+        this.chunkSizeMb = chunkSizeMb;
+        this.parallelStreams = parallelStreams;
     }
 }
@@ -1,25 +1,40 @@
 package com.flowpilot.transfer.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transfer_jobs")
+@Table(name = "transfer_jobs", indexes = {
+        @Index(name = "idx_transfer_jobs_status_scheduled_at", columnList = "status, scheduled_at"),
+        @Index(name = "idx_transfer_jobs_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_transfer_jobs_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_transfer_jobs_priority_created_at", columnList = "priority, created_at, id"),
+        @Index(name = "idx_transfer_jobs_source_bucket_created_at", columnList = "source_bucket, created_at, id"),
+        @Index(name = "idx_transfer_jobs_destination_bucket_created_at", columnList = "destination_bucket, created_at, id"),
+        @Index(name = "idx_transfer_jobs_status_lease_expires_at", columnList = "status, lease_expires_at"),
+        @Index(name = "idx_transfer_jobs_lease_owner", columnList = "lease_owner")
+})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class TransferJob {
+public class TransferJob implements Persistable<UUID> {
     @Id
     private UUID id;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
     @Embedded
     @AttributeOverrides({
             @AttributeOverride(name = "type", column = @Column(name = "source_type")),
@@ -38,11 +53,18 @@ public class TransferJob {
     })
     private StorageEndpoint destination;
 
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'OBJECT'")
+    private JobKind kind;
+
     private String objectKey;
     private long objectSizeBytes;
     private int priority;
     private int maxRetries;
 
+    @ColumnDefault("false")
+    private boolean incremental;
+
     @Embedded
     private ChunkPlan chunkPlan;
 
@@ -53,12 +75,49 @@ public class TransferJob {
     private Instant updatedAt;
     private Instant scheduledAt;
 
-    @OneToMany(mappedBy = "job", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
-    @OrderBy("attemptNumber ASC")
-    private List<TransferAttempt> attempts = new ArrayList<>();
+    private String leaseOwner;
+    private Instant leaseExpiresAt;
+
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
+    @ColumnDefault("0")
+    private int attemptCount;
+
+    @Enumerated(EnumType.STRING)
+    private AttemptStatus lastAttemptStatus;
+    private Double lastThroughputMbps;
+    private String lastFailureReason;
+
+    @ColumnDefault("0")
+    private long objectsListed;
+    @ColumnDefault("0")
+    private long objectsCompleted;
+    @ColumnDefault("0")
+    private long objectsFailed;
+    @ColumnDefault("0")
+    private long objectsSkipped;
+    @ColumnDefault("0")
+    private long bytesCompleted;
+
+    public TransferJob(
+            UUID id,
+            StorageEndpoint source,
+            StorageEndpoint destination,
+            String objectKey,
+            long objectSizeBytes,
+            int priority,
+            int maxRetries,
+            ChunkPlan chunkPlan,
+            Instant createdAt
+    ) {
+        this(id, JobKind.OBJECT, source, destination, objectKey, objectSizeBytes, priority, maxRetries, chunkPlan, createdAt);
+    }
 
     public TransferJob(
             UUID id,
+            JobKind kind,
             StorageEndpoint source,
             StorageEndpoint destination,
             String objectKey,
@@ -69,6 +128,7 @@ public class TransferJob {
             Instant createdAt
     ) {
         this.id = id;
+        this.kind = kind;
         this.source = source;
         this.destination = destination;
         this.objectKey = objectKey;
@@ -81,64 +141,53 @@ public class TransferJob {
         this.updatedAt = createdAt;
     }
 
-    public synchronized JobStatus getStatus() {
-        return status;
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
     }
 
-    public synchronized void setStatus(JobStatus status) {
-        this.status = status;
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
     }
 
-    public synchronized Instant getUpdatedAt() {
-        return updatedAt;
-    }
-
-    public synchronized void setUpdatedAt(Instant updatedAt) {
-        this.updatedAt = updatedAt;
-    }
-
-    public synchronized Instant getScheduledAt() {
-        return scheduledAt;
-    }
-
-    public synchronized void setScheduledAt(Instant scheduledAt) {
-        this.scheduledAt = scheduledAt;
-    }
-
-    public synchronized List<TransferAttempt> getAttempts() {
-        return List.copyOf(attempts);
-    }
-
-    public synchronized int getAttemptCount() {
-        return attempts.size();
-    }
-
-    public synchronized void schedule(Instant time) {
+    public void schedule(Instant time) {
         this.scheduledAt = time;
         this.updatedAt = Instant.now();
     }
 
-    public synchronized void markRunning() {
-        this.status = JobStatus.RUNNING;
-        this.updatedAt = Instant.now();
-    }
-
-    public synchronized void markCompleted(TransferAttempt attempt) {
-        attempt.setJob(this);
-        attempts.add(attempt);
+    public void markCompleted(TransferAttempt attempt) {
+        recordAttempt(attempt);
+        releaseLease();
         this.status = JobStatus.COMPLETED;
         this.updatedAt = Instant.now();
     }
 
-    public synchronized void markFailed(TransferAttempt attempt) {
-        attempt.setJob(this);
-        attempts.add(attempt);
+    public void markFailed(TransferAttempt attempt) {
+        recordAttempt(attempt);
+        releaseLease();
         this.status = JobStatus.FAILED;
         this.updatedAt = Instant.now();
     }
 
-    public synchronized void markCancelled() {
-        this.status = JobStatus.CANCELLED;
+    public void recordCancellation(TransferAttempt attempt) {
+        recordAttempt(attempt);
+        releaseLease();
         this.updatedAt = Instant.now();
     }
+
+    private void releaseLease() {
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+    }
+
+    private void recordAttempt(TransferAttempt attempt) {
+        attempt.setJob(this);
+        this.attemptCount = Math.max(attemptCount, attempt.getAttemptNumber());
+        this.lastAttemptStatus = attempt.getStatus();
+        this.lastThroughputMbps = attempt.getThroughputMbps();
+        this.lastFailureReason = attempt.getFailureReason();
+    }
 }
@@ -0,0 +1,50 @@
+package com.flowpilot.transfer.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "transfer_object_results", indexes = {
+        @Index(name = "idx_object_results_job_key", columnList = "job_id, object_key", unique = true)
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TransferObjectResult {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "object_result_seq")
+    @SequenceGenerator(name = "object_result_seq", sequenceName = "object_result_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(name = "object_key", nullable = false, length = 1024)
+    private String objectKey;
+
+    private long sizeBytes;
+
+    @Enumerated(EnumType.STRING)
+    private AttemptStatus status;
+
+    private int attemptNumber;
+    private String failureReason;
+    private Instant finishedAt;
+
+    public TransferObjectResult(UUID jobId, String objectKey, long sizeBytes) {
+        this.jobId = jobId;
+        this.objectKey = objectKey;
+        this.sizeBytes = sizeBytes;
+    }
+
+    public void record(AttemptStatus status, int attemptNumber, String failureReason, Instant finishedAt) {
+        this.status = status;
+        this.attemptNumber = attemptNumber;
+        this.failureReason = failureReason;
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,54 @@
+package com.flowpilot.transfer.service;
+
+class AdaptiveParallelism {
+    private static final double GAIN_THRESHOLD = 1.05;
+    private static final double LOSS_THRESHOLD = 0.9;
+
+    private final PartScheduler.JobParts parts;
+    private final int maxParallelStreams;
+    private long windowBytes;
+    private int windowParts;
+    private long windowStartNanos = System.nanoTime();
+    private double lastRate;
+    private boolean throttledInWindow;
+
+    AdaptiveParallelism(PartScheduler.JobParts parts, int maxParallelStreams) {
+        this.parts = parts;
+        this.maxParallelStreams = Math.max(maxParallelStreams, 1);
+    }
+
+    synchronized void onPartCompleted(long bytes) {
+        windowBytes += bytes;
+        windowParts++;
+        int limit = parts.parallelism();
+        if (windowParts < limit) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        double rate = windowBytes / Math.max((now - windowStartNanos) / 1_000_000_000.0, 0.001);
+        if (lastRate == 0 || rate >= lastRate * GAIN_THRESHOLD) {
+            parts.resize(Math.min(limit + 1, maxParallelStreams));
+        } else if (rate < lastRate * LOSS_THRESHOLD) {
+            parts.resize(Math.max(1, limit * 3 / 4));
+        }
+        lastRate = rate;
+        resetWindow(now);
+    }
+
+    synchronized void onPartRetried(String reason) {
+        if (!"throttled".equals(reason) || throttledInWindow) {
+            return;
+        }
+        parts.resize(Math.max(1, parts.parallelism() * 3 / 4));
+        resetWindow(System.nanoTime());
+        throttledInWindow = true;
+    }
+
+    private void resetWindow(long now) {
+        windowBytes = 0;
+        windowParts = 0;
+        windowStartNanos = now;
+        throttledInWindow = false;
+    }
+}
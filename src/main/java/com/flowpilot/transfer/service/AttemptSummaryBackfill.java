@@ -0,0 +1,35 @@
+package com.flowpilot.transfer.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@ConditionalOnProperty(name = "transfer.migrations.backfill-attempt-summaries", havingValue = "true", matchIfMissing = true)
+public class AttemptSummaryBackfill {
+    private static final Logger log = LoggerFactory.getLogger(AttemptSummaryBackfill.class);
+
+    private final TransferJobRepository transferJobRepository;
+
+    public AttemptSummaryBackfill(TransferJobRepository transferJobRepository) {
+        this.transferJobRepository = transferJobRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfill() {
+        if (transferJobRepository.findUnsummarized(Limit.of(1)).isEmpty()) {
+            return;
+        }
+        int updated = transferJobRepository.backfillAttemptSummaries();
+        log.info("Backfilled attempt summaries for {} transfer jobs", updated);
+    }
+}
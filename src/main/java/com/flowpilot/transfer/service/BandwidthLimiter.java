@@ -0,0 +1,201 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.StorageType;
+import com.flowpilot.transfer.domain.TransferJob;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class BandwidthLimiter {
+    private static final double BYTES_PER_MEGABIT = 125_000;
+
+    private final TransferMetrics metrics;
+    private final TokenBucket global = new TokenBucket(0);
+    private final Map<StorageType, TokenBucket> perType = new EnumMap<>(StorageType.class);
+    private final Map<UUID, JobThrottle> jobs = new ConcurrentHashMap<>();
+    private volatile BandwidthLimits limits;
+
+    public BandwidthLimiter(TransferStorageProperties properties, TransferMetrics metrics) {
+        this.metrics = metrics;
+        for (StorageType type : StorageType.values()) {
+            perType.put(type, new TokenBucket(0));
+        }
+        TransferStorageProperties.Bandwidth config = properties.getBandwidth();
+        update(new BandwidthLimits(config.getGlobalMbps(), config.getPerJobMbps(), config.getPerTypeMbps()));
+
+        metrics.gauge("transfer.bandwidth.limit", "Configured bandwidth limit in megabits per second, 0 when unlimited",
+                this, limiter -> limiter.limits.globalMbps(), "scope", "global");
+        for (StorageType type : StorageType.values()) {
+            metrics.gauge("transfer.bandwidth.limit", "Configured bandwidth limit in megabits per second, 0 when unlimited",
+                    this, limiter -> limiter.limits.perTypeMbps().getOrDefault(type, 0.0), "scope", type.name());
+        }
+        metrics.gauge("transfer.bandwidth.throttled.jobs", "Jobs currently holding a bandwidth share", jobs, Map::size);
+    }
+
+    public BandwidthLimits limits() {
+        return limits;
+    }
+
+    public synchronized BandwidthLimits update(BandwidthLimits next) {
+        Map<StorageType, Double> types = new EnumMap<>(StorageType.class);
+        for (StorageType type : StorageType.values()) {
+            types.put(type, next.perTypeMbps() == null ? 0.0 : next.perTypeMbps().getOrDefault(type, 0.0));
+        }
+        limits = new BandwidthLimits(next.globalMbps(), next.perJobMbps(), Map.copyOf(types));
+        global.setRate(limits.globalMbps() * BYTES_PER_MEGABIT);
+        types.forEach((type, mbps) -> perType.get(type).setRate(mbps * BYTES_PER_MEGABIT));
+        rebalance();
+        return limits;
+    }
+
+    public JobThrottle open(TransferJob job) {
+        JobThrottle throttle = new JobThrottle(
+                job.getId(),
+                Math.max(job.getPriority(), 1),
+                job.getSource().getType(),
+                job.getDestination().getType()
+        );
+        jobs.put(throttle.jobId, throttle);
+        rebalance();
+        return throttle;
+    }
+
+    private synchronized void rebalance() {
+        BandwidthLimits current = limits;
+        double totalWeight = 0;
+        Map<StorageType, Double> typeWeights = new EnumMap<>(StorageType.class);
+        for (JobThrottle job : jobs.values()) {
+            totalWeight += job.weight;
+            for (StorageType type : job.types()) {
+                typeWeights.merge(type, (double) job.weight, Double::sum);
+            }
+        }
+        for (JobThrottle job : jobs.values()) {
+            double mbps = current.perJobMbps();
+            if (current.globalMbps() > 0) {
+                mbps = tighter(mbps, current.globalMbps() * job.weight / totalWeight);
+            }
+            for (StorageType type : job.types()) {
+                double typeMbps = current.perTypeMbps().getOrDefault(type, 0.0);
+                if (typeMbps > 0) {
+                    mbps = tighter(mbps, typeMbps * job.weight / typeWeights.get(type));
+                }
+            }
+            job.bucket.setRate(mbps * BYTES_PER_MEGABIT);
+        }
+    }
+
+    private double tighter(double current, double candidate) {
+        return current <= 0 ? candidate : Math.min(current, candidate);
+    }
+
+    public final class JobThrottle implements AutoCloseable {
+        private final UUID jobId;
+        private final int weight;
+        private final StorageType sourceType;
+        private final StorageType destinationType;
+        private final TokenBucket bucket = new TokenBucket(0);
+
+        private JobThrottle(UUID jobId, int weight, StorageType sourceType, StorageType destinationType) {
+            this.jobId = jobId;
+            this.weight = weight;
+            this.sourceType = sourceType;
+            this.destinationType = destinationType;
+        }
+
+        public InputStream wrap(InputStream stream) {
+            return new ThrottledInputStream(stream, this);
+        }
+
+        public void acquire(long bytes) throws InterruptedIOException {
+            long jobWait = bucket.reserve(bytes);
+            long globalWait = global.reserve(bytes);
+            long sourceWait = perType.get(sourceType).reserve(bytes);
+            long destinationWait = sourceType == destinationType ? 0 : perType.get(destinationType).reserve(bytes);
+            long wait = Math.max(Math.max(jobWait, globalWait), Math.max(sourceWait, destinationWait));
+            if (wait <= 0) {
+                return;
+            }
+            metrics.recordThrottle(scope(wait, jobWait, globalWait, sourceWait), wait);
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for bandwidth");
+            }
+        }
+
+        @Override
+        public void close() {
+            if (jobs.remove(jobId, this)) {
+                rebalance();
+            }
+        }
+
+        private List<StorageType> types() {
+            List<StorageType> types = new ArrayList<>(2);
+            types.add(sourceType);
+            if (destinationType != sourceType) {
+                types.add(destinationType);
+            }
+            return types;
+        }
+
+        private String scope(long wait, long jobWait, long globalWait, long sourceWait) {
+            if (wait == globalWait) {
+                return "global";
+            }
+            if (wait == jobWait) {
+                return "job";
+            }
+            return wait == sourceWait ? sourceType.name() : destinationType.name();
+        }
+    }
+
+    private static final class ThrottledInputStream extends FilterInputStream {
+        private final JobThrottle throttle;
+
+        private ThrottledInputStream(InputStream in, JobThrottle throttle) {
+            super(in);
+            this.throttle = throttle;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                throttle.acquire(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                throttle.acquire(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = super.skip(count);
+            if (skipped > 0) {
+                throttle.acquire(skipped);
+            }
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.StorageType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.Map;
+
+public record BandwidthLimits(
+        @PositiveOrZero double globalMbps,
+        @PositiveOrZero double perJobMbps,
+        @NotNull Map<StorageType, @NotNull @PositiveOrZero Double> perTypeMbps
+) {
+}
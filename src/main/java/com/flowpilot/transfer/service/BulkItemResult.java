@@ -0,0 +1,23 @@
+package com.flowpilot.transfer.service;
+
+import java.util.UUID;
+
+public record BulkItemResult(long index, Outcome outcome, UUID id, String error) {
+    public enum Outcome {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+
+    static BulkItemResult created(long index, UUID id) {
+        return new BulkItemResult(index, Outcome.CREATED, id, null);
+    }
+
+    static BulkItemResult rejected(long index, String error) {
+        return new BulkItemResult(index, Outcome.REJECTED, null, error);
+    }
+
+    static BulkItemResult failed(long index, String error) {
+        return new BulkItemResult(index, Outcome.FAILED, null, error);
+    }
+}
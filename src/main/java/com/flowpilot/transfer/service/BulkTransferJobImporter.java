@@ -0,0 +1,138 @@
+package com.flowpilot.transfer.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.flowpilot.transfer.api.CreateTransferJobRequest;
+import com.flowpilot.transfer.domain.TransferJob;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class BulkTransferJobImporter {
+    private final TransferJobService transferJobService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+
+    public BulkTransferJobImporter(
+            TransferJobService transferJobService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            TransferStorageProperties properties
+    ) {
+        this.transferJobService = transferJobService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = Math.max(properties.getBulk().getBatchSize(), 1);
+    }
+
+    public void importJobs(InputStream input, OutputStream output) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input);
+             SequenceWriter results = objectMapper.writer().withRootValueSeparator("\n").writeValues(output)) {
+            Batch batch = new Batch(results);
+            long index = 0;
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            try {
+                while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                    JsonNode node = parser.readValueAsTree();
+                    batch.add(index++, node);
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException ex) {
+                batch.flush();
+                results.write(BulkItemResult.rejected(index, "Malformed JSON: " + ex.getOriginalMessage()));
+                return;
+            }
+            batch.flush();
+        }
+    }
+
+    private CreateTransferJobRequest toRequest(JsonNode node) throws JsonProcessingException {
+        return objectMapper.treeToValue(node, CreateTransferJobRequest.class);
+    }
+
+    private String describe(Set<ConstraintViolation<CreateTransferJobRequest>> violations) {
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private final class Batch {
+        private final SequenceWriter results;
+        private final List<BulkItemResult> pending = new ArrayList<>(batchSize);
+        private final List<Long> indexes = new ArrayList<>(batchSize);
+        private final List<CreateTransferJobRequest> requests = new ArrayList<>(batchSize);
+
+        private Batch(SequenceWriter results) {
+            this.results = results;
+        }
+
+        private void add(long index, JsonNode node) throws IOException {
+            accept(index, node);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void accept(long index, JsonNode node) {
+            CreateTransferJobRequest request;
+            try {
+                request = toRequest(node);
+            } catch (JsonProcessingException ex) {
+                pending.add(BulkItemResult.rejected(index, ex.getOriginalMessage()));
+                return;
+            }
+            Set<ConstraintViolation<CreateTransferJobRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                pending.add(BulkItemResult.rejected(index, describe(violations)));
+                return;
+            }
+            pending.add(null);
+            indexes.add(index);
+            requests.add(request);
+        }
+
+        private void flush() throws IOException {
+            List<BulkItemResult> outcomes = new ArrayList<>(requests.size());
+            if (!requests.isEmpty()) {
+                try {
+                    List<TransferJob> jobs = transferJobService.createJobs(requests);
+                    for (int i = 0; i < jobs.size(); i++) {
+                        outcomes.add(BulkItemResult.created(indexes.get(i), jobs.get(i).getId()));
+                    }
+                } catch (RuntimeException ex) {
+                    for (Long index : indexes) {
+                        outcomes.add(BulkItemResult.failed(index, "Batch insert failed: " + ex.getMessage()));
+                    }
+                }
+            }
+            int next = 0;
+            for (BulkItemResult result : pending) {
+                results.write(result != null ? result : outcomes.get(next++));
+            }
+            results.flush();
+            pending.clear();
+            indexes.clear();
+            requests.clear();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.flowpilot.transfer.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class CancellationToken {
+    private static final Logger log = LoggerFactory.getLogger(CancellationToken.class);
+
+    private final UUID jobId;
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private volatile boolean cancelled;
+    private long cancelledAtNanos;
+
+    CancellationToken(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public UUID jobId() {
+        return jobId;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new TransferCancelledException("Transfer cancelled: " + jobId);
+        }
+    }
+
+    public Registration onCancel(Runnable callback) {
+        synchronized (this) {
+            if (!cancelled) {
+                callbacks.add(callback);
+                return () -> {
+                    synchronized (this) {
+                        callbacks.remove(callback);
+                    }
+                };
+            }
+        }
+        run(callback);
+        return () -> {
+        };
+    }
+
+    synchronized long cancelledAtNanos() {
+        return cancelledAtNanos;
+    }
+
+    void cancel() {
+        List<Runnable> pending;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            cancelledAtNanos = System.nanoTime();
+            pending = List.copyOf(callbacks);
+            callbacks.clear();
+        }
+        pending.forEach(this::run);
+    }
+
+    private void run(Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException ex) {
+            log.debug("Cancellation callback for job {} failed", jobId, ex);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
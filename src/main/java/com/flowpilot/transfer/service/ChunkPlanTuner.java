@@ -0,0 +1,121 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.AttemptStatus;
+import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.StorageType;
+import com.flowpilot.transfer.domain.TransferJob;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class ChunkPlanTuner {
+    private static final double SMOOTHING = 0.3;
+    private static final long MAX_PARTS = 10_000;
+    private static final long MB = 1024L * 1024L;
+
+    private final TransferStorageProperties.Tuning config;
+    private final TransferAttemptRepository attemptRepository;
+    private final Map<RouteKey, Map<PlanKey, Double>> history = new ConcurrentHashMap<>();
+
+    public ChunkPlanTuner(TransferStorageProperties properties, TransferAttemptRepository attemptRepository) {
+        this.config = properties.getTuning();
+        this.attemptRepository = attemptRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHistory() {
+        List<ThroughputSample> samples = attemptRepository.findRecentSamples(AttemptStatus.SUCCESS, Limit.of(config.getHistorySize()));
+        for (int i = samples.size() - 1; i >= 0; i--) {
+            ThroughputSample sample = samples.get(i);
+            observe(
+                    new RouteKey(sample.sourceType(), sample.sourceRegion(), sample.destinationType(), sample.destinationRegion(), sizeBucket(sample.objectSizeBytes())),
+                    new PlanKey(sample.chunkSizeMb(), sample.parallelStreams()),
+                    sample.throughputMbps()
+            );
+        }
+    }
+
+    public ChunkPlan resolve(TransferJob job, long objectSizeBytes) {
+        ChunkPlan plan = job.getChunkPlan();
+        if (plan == null || !plan.isAutoTune()) {
+            return plan;
+        }
+        Map<PlanKey, Double> observed = history.get(routeOf(job, objectSizeBytes));
+        PlanKey candidate = observed == null || observed.isEmpty()
+                ? new PlanKey(config.getDefaultChunkSizeMb(), config.getDefaultParallelStreams())
+                : observed.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey();
+        if (ThreadLocalRandom.current().nextDouble() < config.getExplorationRate()) {
+            candidate = neighbour(candidate);
+        }
+        PlanKey bounded = bound(candidate, objectSizeBytes);
+        return new ChunkPlan(bounded.chunkSizeMb(), bounded.parallelStreams(), true);
+    }
+
+    public int maxParallelStreams() {
+        return Math.max(config.getMaxParallelStreams(), 1);
+    }
+
+    public void record(TransferJob job, TransferExecutionResult result) {
+        if (result.status() != AttemptStatus.SUCCESS
+                || result.chunkSizeMb() == null
+                || result.parallelStreams() == null
+                || result.throughputMbps() <= 0) {
+            return;
+        }
+        long objectSizeBytes = result.objectSizeBytes() != null ? result.objectSizeBytes() : job.getObjectSizeBytes();
+        observe(routeOf(job, objectSizeBytes), new PlanKey(result.chunkSizeMb(), result.parallelStreams()), result.throughputMbps());
+    }
+
+    private void observe(RouteKey route, PlanKey plan, double throughputMbps) {
+        history.computeIfAbsent(route, ignored -> new ConcurrentHashMap<>())
+                .merge(plan, throughputMbps, (previous, latest) -> previous + SMOOTHING * (latest - previous));
+    }
+
+    private PlanKey neighbour(PlanKey plan) {
+        return switch (ThreadLocalRandom.current().nextInt(4)) {
+            case 0 -> new PlanKey(plan.chunkSizeMb() * 2, plan.parallelStreams());
+            case 1 -> new PlanKey(plan.chunkSizeMb() / 2, plan.parallelStreams());
+            case 2 -> new PlanKey(plan.chunkSizeMb(), plan.parallelStreams() * 2);
+            default -> new PlanKey(plan.chunkSizeMb(), plan.parallelStreams() / 2);
+        };
+    }
+
+    private PlanKey bound(PlanKey plan, long objectSizeBytes) {
+        long minForPartLimit = (objectSizeBytes / MAX_PARTS + MB - 1) / MB;
+        int chunkSizeMb = Math.max(config.getMinChunkSizeMb(), Math.min(config.getMaxChunkSizeMb(), plan.chunkSizeMb()));
+        chunkSizeMb = (int) Math.max(chunkSizeMb, minForPartLimit);
+        int parallelStreams = Math.max(1, Math.min(maxParallelStreams(), plan.parallelStreams()));
+        return new PlanKey(chunkSizeMb, parallelStreams);
+    }
+
+    private RouteKey routeOf(TransferJob job, long objectSizeBytes) {
+        StorageEndpoint source = job.getSource();
+        StorageEndpoint destination = job.getDestination();
+        return new RouteKey(source.getType(), source.getRegion(), destination.getType(), destination.getRegion(), sizeBucket(objectSizeBytes));
+    }
+
+    private int sizeBucket(long objectSizeBytes) {
+        return objectSizeBytes <= 0 ? 0 : (63 - Long.numberOfLeadingZeros(objectSizeBytes)) / 2;
+    }
+
+    private record RouteKey(
+            StorageType sourceType,
+            String sourceRegion,
+            StorageType destinationType,
+            String destinationRegion,
+            int sizeBucket
+    ) {
+    }
+
+    private record PlanKey(int chunkSizeMb, int parallelStreams) {
+    }
+}
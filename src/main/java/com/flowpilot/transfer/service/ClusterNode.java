@@ -0,0 +1,46 @@
+package com.flowpilot.transfer.service;
+
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class ClusterNode {
+    private final boolean enabled;
+    private final String nodeId;
+    private final Duration leaseDuration;
+
+    public ClusterNode(TransferStorageProperties properties) {
+        TransferStorageProperties.Cluster config = properties.getCluster();
+        boolean configured = config.getNodeId() != null && !config.getNodeId().isBlank();
+        if (config.isEnabled() && !configured) {
+            throw new IllegalStateException("transfer.cluster.node-id must be set to a stable, unique id when transfer.cluster.enabled is true");
+        }
+        this.enabled = config.isEnabled();
+        this.nodeId = configured ? config.getNodeId() : hostname();
+        this.leaseDuration = config.getLeaseDuration();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public Instant leaseExpiry(Instant now) {
+        return now.plus(leaseDuration);
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.flowpilot.transfer.service;
+
+public class DispatcherSaturatedException extends RuntimeException {
+    public DispatcherSaturatedException(String message) {
+        super(message);
+    }
+}
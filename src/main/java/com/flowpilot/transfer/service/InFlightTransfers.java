@@ -0,0 +1,92 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.StorageType;
+import com.flowpilot.transfer.domain.TransferJob;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class InFlightTransfers {
+    private final Map<TransferKey, Flight> flights = new ConcurrentHashMap<>();
+    private final TransferMetrics metrics;
+
+    public InFlightTransfers(TransferMetrics metrics) {
+        this.metrics = metrics;
+        metrics.gauge("transfer.inflight.transfers", "Distinct object transfers currently dispatched", flights, Map::size);
+    }
+
+    public Flight join(TransferJob job) {
+        TransferKey key = TransferKey.of(job);
+        Flight candidate = new Flight(key, job.getId());
+        Flight flight = flights.putIfAbsent(key, candidate);
+        if (flight == null) {
+            return candidate;
+        }
+        metrics.recordCoalesced(job.getSource(), job.getDestination());
+        return flight;
+    }
+
+    public void complete(Flight flight, TransferExecutionResult result) {
+        flights.remove(flight.key, flight);
+        flight.result.complete(result);
+    }
+
+    public static final class Flight {
+        private final TransferKey key;
+        private final UUID leaderId;
+        private final CompletableFuture<TransferExecutionResult> result = new CompletableFuture<>();
+
+        private Flight(TransferKey key, UUID leaderId) {
+            this.key = key;
+            this.leaderId = leaderId;
+        }
+
+        public UUID leaderId() {
+            return leaderId;
+        }
+
+        public boolean isLeader(UUID jobId) {
+            return leaderId.equals(jobId);
+        }
+
+        public CompletableFuture<TransferExecutionResult> result() {
+            return result;
+        }
+    }
+
+    private record TransferKey(
+            StorageType sourceType,
+            String sourceRegion,
+            String sourceBucket,
+            String sourceKey,
+            StorageType destinationType,
+            String destinationRegion,
+            String destinationBucket,
+            String destinationKey
+    ) {
+        static TransferKey of(TransferJob job) {
+            StorageEndpoint source = job.getSource();
+            StorageEndpoint destination = job.getDestination();
+            return new TransferKey(
+                    source.getType(),
+                    source.getRegion(),
+                    source.getBucket(),
+                    resolve(source, job.getObjectKey()),
+                    destination.getType(),
+                    destination.getRegion(),
+                    destination.getBucket(),
+                    resolve(destination, job.getObjectKey())
+            );
+        }
+
+        private static String resolve(StorageEndpoint endpoint, String objectKey) {
+            String key = ObjectKeys.resolve(endpoint, objectKey);
+            return endpoint.getType() == StorageType.LOCAL ? key.replaceAll("^/+", "") : key;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.flowpilot.transfer.service;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
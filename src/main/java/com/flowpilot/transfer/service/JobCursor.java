@@ -0,0 +1,25 @@
+package com.flowpilot.transfer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+public record JobCursor(Instant createdAt, UUID id) {
+    private static final char SEPARATOR = '|';
+
+    public static JobCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new JobCursor(Instant.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+package com.flowpilot.transfer.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "transfer.cluster.enabled", havingValue = "true")
+public class JobLeaseCoordinator {
+    private static final Logger log = LoggerFactory.getLogger(JobLeaseCoordinator.class);
+
+    private final TransferJobService transferJobService;
+    private final TransferDispatcher transferDispatcher;
+    private final TransferStorageProperties.Cluster config;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transfer-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JobLeaseCoordinator(
+            TransferJobService transferJobService,
+            TransferDispatcher transferDispatcher,
+            TransferStorageProperties properties
+    ) {
+        this.transferJobService = transferJobService;
+        this.transferDispatcher = transferDispatcher;
+        this.config = properties.getCluster();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long heartbeatMillis = Math.max(config.getHeartbeatInterval().toMillis(), 100);
+        long pollMillis = Math.max(config.getPollInterval().toMillis(), 100);
+        timer.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        timer.scheduleWithFixedDelay(this::poll, 0, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private void heartbeat() {
+        try {
+            transferJobService.renewLeases();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to renew job leases", ex);
+        }
+    }
+
+    private void poll() {
+        try {
+            transferJobService.propagateCancellations();
+            int batchSize = Math.max(config.getClaimBatchSize(), 1);
+            for (UUID id : transferJobService.listExpiredLeases(batchSize)) {
+                transferJobService.reclaimExpiredLease(id);
+            }
+            int idle = Math.min(transferDispatcher.idleWorkers(), batchSize);
+            if (idle == 0) {
+                return;
+            }
+            List<UUID> candidates = new ArrayList<>(transferJobService.listDueJobs(idle * Math.max(config.getClaimCandidateFactor(), 1)));
+            Collections.shuffle(candidates);
+            int started = 0;
+            for (UUID id : candidates) {
+                if (started == idle) {
+                    return;
+                }
+                try {
+                    transferJobService.startScheduledJob(id);
+                    started++;
+                } catch (InvalidTransferStateException | NotFoundException ex) {
+                    log.debug("Skipping due job {}: {}", id, ex.getMessage());
+                } catch (DispatcherSaturatedException ex) {
+                    return;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to poll for due jobs", ex);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.TransferJob;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@ConditionalOnProperty(name = "transfer.executor.mode", havingValue = "simulated-load")
+public class LoadSimulationTransferExecutor implements TransferExecutor {
+    private static final long MIN_PART_SIZE_BYTES = 5L * 1024 * 1024;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ChunkPlanTuner chunkPlanTuner;
+    private final PartScheduler partScheduler;
+    private final PartRetryPolicy retryPolicy;
+    private final TransferMetrics metrics;
+    private final TransferProgressRegistry progressRegistry;
+    private final double linkBytesPerSecond;
+    private final double streamMbps;
+    private final double streamMbpsSpread;
+    private final long partLatencyNanos;
+    private final double partLatencySpread;
+    private final double partFailureProbability;
+    private final long defaultObjectSizeBytes;
+    private final double timeScale;
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    public LoadSimulationTransferExecutor(
+            TransferStorageProperties properties,
+            ChunkPlanTuner chunkPlanTuner,
+            PartScheduler partScheduler,
+            PartRetryPolicy retryPolicy,
+            TransferMetrics metrics,
+            TransferProgressRegistry progressRegistry
+    ) {
+        TransferStorageProperties.Simulation config = properties.getSimulation();
+        this.chunkPlanTuner = chunkPlanTuner;
+        this.partScheduler = partScheduler;
+        this.retryPolicy = retryPolicy;
+        this.metrics = metrics;
+        this.progressRegistry = progressRegistry;
+        this.linkBytesPerSecond = config.getLinkCapacityMbps() > 0 ? config.getLinkCapacityMbps() * 1_000_000 / 8 : Double.MAX_VALUE;
+        this.streamMbps = config.getStreamMbps() > 0 ? config.getStreamMbps() : 400;
+        this.streamMbpsSpread = Math.max(config.getStreamMbpsSpread(), 0);
+        this.partLatencyNanos = Math.max(config.getPartLatency().toNanos(), 0);
+        this.partLatencySpread = Math.max(config.getPartLatencySpread(), 0);
+        this.partFailureProbability = Math.min(Math.max(config.getPartFailureProbability(), 0), 1);
+        this.defaultObjectSizeBytes = Math.max(config.getDefaultObjectSizeMb(), 1) * 1024L * 1024L;
+        this.timeScale = config.getTimeScale() > 0 ? config.getTimeScale() : 1.0;
+        metrics.gauge("transfer.simulation.active_streams", "Simulated streams sharing the link", activeStreams, AtomicInteger::get);
+    }
+
+    @Override
+    public TransferExecutionResult execute(TransferJob job, ExecutionOptions options, CancellationToken cancellation) {
+        long objectSizeBytes = job.getObjectSizeBytes() > 0 ? job.getObjectSizeBytes() : defaultObjectSizeBytes;
+        ChunkPlan plan = chunkPlanTuner.resolve(job, objectSizeBytes);
+        int chunkSizeMb = plan != null ? plan.getChunkSizeMb() : 64;
+        int parallelStreams = plan != null ? Math.max(plan.getParallelStreams(), 1) : 4;
+
+        if (options.simulateFailure()) {
+            String reason = options.failureReason() == null || options.failureReason().isBlank()
+                    ? "Simulated network timeout"
+                    : options.failureReason();
+            return TransferExecutionResult.failure(0, reason).withPlan(chunkSizeMb, parallelStreams, objectSizeBytes);
+        }
+
+        double jobStreamMbps = options.throughputMbps() > 0 ? options.throughputMbps() : streamMbps;
+        long partSizeBytes = Math.max(chunkSizeMb * 1024L * 1024L, MIN_PART_SIZE_BYTES);
+        int totalParts = (int) ((objectSizeBytes + partSizeBytes - 1) / partSizeBytes);
+        PartRetryPolicy.JobRetries retries = retryPolicy.forJob();
+        PartScheduler.JobParts parts = partScheduler.forJob(parallelStreams, endpointKey(job.getSource()), endpointKey(job.getDestination()));
+        List<Future<Void>> futures = new ArrayList<>(totalParts);
+        progressRegistry.updateTotal(job.getId(), objectSizeBytes);
+        long started = System.nanoTime();
+
+        TransferExecutionResult result;
+        try {
+            for (int partNumber = 1; partNumber <= totalParts && !parts.hasFailed() && !cancellation.isCancelled(); partNumber++) {
+                long length = Math.min(partSizeBytes, objectSizeBytes - (partNumber - 1) * partSizeBytes);
+                futures.add(parts.submit(() -> {
+                    retryPolicy.call(retries, cancellation, job.getDestination(), reason -> {
+                    }, () -> {
+                        transferPart(job.getDestination(), length, jobStreamMbps, cancellation);
+                        return null;
+                    });
+                    progressRegistry.addBytes(job.getId(), length);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                awaitPart(cancellation, future);
+            }
+            cancellation.throwIfCancelled();
+            metrics.recordBytes(job.getSource(), job.getDestination(), "simulated", objectSizeBytes);
+            result = TransferExecutionResult.success(throughputMbps(objectSizeBytes, started));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            result = TransferExecutionResult.failure(0, "Transfer interrupted");
+        } catch (RuntimeException ex) {
+            futures.forEach(future -> future.cancel(true));
+            result = cancellation.isCancelled()
+                    ? TransferExecutionResult.cancelled(0)
+                    : TransferExecutionResult.failure(0, "Transfer failed: " + ex.getMessage());
+        }
+        return result.withPlan(chunkSizeMb, parallelStreams, objectSizeBytes).withPartRetries(retries.used());
+    }
+
+    private void transferPart(StorageEndpoint endpoint, long length, double jobStreamMbps, CancellationToken cancellation)
+            throws SocketTimeoutException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long started = System.nanoTime();
+        long failAfterBytes = random.nextDouble() < partFailureProbability ? (long) (length * random.nextDouble()) : -1;
+        double streamBytesPerSecond = sample(jobStreamMbps, streamMbpsSpread) * 1_000_000 / 8;
+        boolean completed = false;
+        try {
+            sleepSimulated((long) sample(partLatencyNanos, partLatencySpread));
+            long remaining = length;
+            activeStreams.incrementAndGet();
+            try {
+                while (remaining > 0) {
+                    cancellation.throwIfCancelled();
+                    double bytesPerSecond = Math.min(streamBytesPerSecond, linkBytesPerSecond / Math.max(activeStreams.get(), 1));
+                    long slice = Math.min(remaining, Math.max((long) (bytesPerSecond * TICK_NANOS / 1e9), 1));
+                    sleepSimulated((long) (slice / bytesPerSecond * 1e9));
+                    remaining -= slice;
+                    if (failAfterBytes >= 0 && length - remaining >= failAfterBytes) {
+                        throw new SocketTimeoutException("Simulated part timeout");
+                    }
+                }
+            } finally {
+                activeStreams.decrementAndGet();
+            }
+            completed = true;
+        } finally {
+            long simulatedNanos = (long) ((System.nanoTime() - started) * timeScale);
+            metrics.recordPart("simulated", endpoint, completed ? "success" : "failure", simulatedNanos);
+        }
+    }
+
+    private void awaitPart(CancellationToken cancellation, Future<Void> future) {
+        try (CancellationToken.Registration ignored = cancellation.onCancel(() -> future.cancel(true))) {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Transfer interrupted", e);
+        } catch (CancellationException e) {
+            throw new TransferCancelledException("Transfer cancelled: " + cancellation.jobId());
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Part transfer failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void sleepSimulated(long simulatedNanos) throws InterruptedException {
+        long wallNanos = (long) (simulatedNanos / timeScale);
+        if (wallNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(wallNanos);
+        }
+    }
+
+    private double throughputMbps(long bytes, long startedNanos) {
+        double simulatedSeconds = Math.max((System.nanoTime() - startedNanos) * timeScale / 1e9, 1e-6);
+        return bytes * 8 / simulatedSeconds / 1_000_000;
+    }
+
+    private static double sample(double median, double spread) {
+        return spread == 0 ? median : median * Math.exp(spread * ThreadLocalRandom.current().nextGaussian());
+    }
+
+    private static String endpointKey(StorageEndpoint endpoint) {
+        return endpoint.getType() + "/" + endpoint.getRegion();
+    }
+}
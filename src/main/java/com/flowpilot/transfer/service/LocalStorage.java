@@ -0,0 +1,311 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+@Component
+public class LocalStorage {
+    private static final long SLICE_BYTES = 8L * 1024 * 1024;
+    private static final long MAX_MAPPING_BYTES = 1L << 30;
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
+    private final Map<String, Path> volumes;
+
+    public LocalStorage(TransferStorageProperties properties) {
+        Map<String, Path> roots = new HashMap<>();
+        properties.getLocal().getVolumes().forEach((name, root) -> roots.put(name, root.toAbsolutePath().normalize()));
+        this.volumes = Map.copyOf(roots);
+    }
+
+    public Path resolve(StorageEndpoint endpoint, String key) {
+        Path root = root(endpoint);
+        Path path = root.resolve(key.replaceAll("^/+", "")).normalize();
+        if (!path.startsWith(root) || !contained(root, path)) {
+            throw new IllegalArgumentException("Path escapes local volume " + endpoint.getBucket() + ": " + key);
+        }
+        return path;
+    }
+
+    public LocalObject stat(Path path) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            throw new NoSuchFileException(path.toString(), null, "local file not found");
+        }
+        if (!attributes.isRegularFile()) {
+            throw new NoSuchFileException(path.toString(), null, "not a regular file");
+        }
+        return new LocalObject(path.getFileName().toString(), attributes.size(), fingerprint(attributes));
+    }
+
+    // LOCAL prefixes name a directory under the volume, not a key-string prefix as in S3.
+    public Iterable<List<LocalObject>> list(StorageEndpoint endpoint, String prefix, int pageSize) {
+        Path root = root(endpoint);
+        Path directory = resolve(endpoint, prefix);
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+            return List.of();
+        }
+        return () -> new Listing(root, directory, Math.max(pageSize, 1));
+    }
+
+    public boolean matches(Path path, long sizeBytes, String sourceETag) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.isRegularFile()
+                    && ObjectFingerprint.matches(sizeBytes, sourceETag, attributes.size(), null, storedFingerprint(path));
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    public RequestBody region(Path path, long position, long length, BandwidthLimiter.JobThrottle throttle) throws IOException {
+        ByteBuffer[] regions = map(path, position, length);
+        return RequestBody.fromContentProvider(() -> {
+            ByteBuffer[] views = new ByteBuffer[regions.length];
+            for (int i = 0; i < regions.length; i++) {
+                views[i] = regions[i].duplicate();
+            }
+            return throttle.wrap(new PartBufferPool.SlabInputStream(views));
+        }, length, CONTENT_TYPE);
+    }
+
+    public Target create(Path destination, long sizeBytes, UUID jobId) throws IOException {
+        Files.createDirectories(destination.getParent());
+        Path partial = destination.resolveSibling(destination.getFileName() + "." + jobId + ".partial");
+        try (FileChannel channel = FileChannel.open(partial,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (sizeBytes > 0) {
+                channel.write(ByteBuffer.allocate(1), sizeBytes - 1);
+            }
+        }
+        return new Target(destination, partial);
+    }
+
+    private Path root(StorageEndpoint endpoint) {
+        Path root = volumes.get(endpoint.getBucket());
+        if (root == null) {
+            throw new IllegalArgumentException("Unknown local volume: " + endpoint.getBucket());
+        }
+        return root;
+    }
+
+    private boolean contained(Path root, Path path) {
+        Path existing = path;
+        while (!Files.exists(existing, LinkOption.NOFOLLOW_LINKS)) {
+            existing = existing.getParent();
+        }
+        try {
+            return existing.toRealPath().startsWith(root.toRealPath());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Local volume is not accessible: " + root, ex);
+        }
+    }
+
+    private ByteBuffer[] map(Path path, long position, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < position + length) {
+                throw new EOFException("Local file " + path + " is shorter than " + (position + length) + " bytes");
+            }
+            int count = (int) Math.max((length + MAX_MAPPING_BYTES - 1) / MAX_MAPPING_BYTES, 1);
+            ByteBuffer[] regions = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long offset = i * MAX_MAPPING_BYTES;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + offset, Math.min(MAX_MAPPING_BYTES, length - offset));
+            }
+            return regions;
+        }
+    }
+
+    private Map<String, String> storedFingerprint(Path path) {
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(path, UserDefinedFileAttributeView.class);
+        if (view == null) {
+            return Map.of();
+        }
+        try {
+            if (!view.list().contains(ObjectFingerprint.SOURCE_ETAG)) {
+                return Map.of();
+            }
+            ByteBuffer value = ByteBuffer.allocate(view.size(ObjectFingerprint.SOURCE_ETAG));
+            view.read(ObjectFingerprint.SOURCE_ETAG, value);
+            return Map.of(ObjectFingerprint.SOURCE_ETAG, StandardCharsets.UTF_8.decode(value.flip()).toString());
+        } catch (IOException | UnsupportedOperationException ex) {
+            return Map.of();
+        }
+    }
+
+    private static String fingerprint(BasicFileAttributes attributes) {
+        return Long.toHexString(attributes.lastModifiedTime().toMillis()) + "-" + Long.toHexString(attributes.size());
+    }
+
+    public record LocalObject(String key, long size, String fingerprint) {
+    }
+
+    private final class Listing implements Iterator<List<LocalObject>> {
+        private final Path root;
+        private final int pageSize;
+        private final Deque<Iterator<Entry>> directories = new ArrayDeque<>();
+        private List<LocalObject> page;
+
+        private Listing(Path root, Path directory, int pageSize) {
+            this.root = root;
+            this.pageSize = pageSize;
+            directories.push(entries(directory));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (page == null) {
+                page = nextPage();
+            }
+            return !page.isEmpty();
+        }
+
+        @Override
+        public List<LocalObject> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<LocalObject> next = page;
+            page = null;
+            return next;
+        }
+
+        private List<LocalObject> nextPage() {
+            List<LocalObject> objects = new ArrayList<>(pageSize);
+            while (objects.size() < pageSize && !directories.isEmpty()) {
+                Iterator<Entry> current = directories.peek();
+                if (!current.hasNext()) {
+                    directories.pop();
+                    continue;
+                }
+                Entry entry = current.next();
+                if (entry.attributes().isDirectory()) {
+                    directories.push(entries(entry.path()));
+                } else if (entry.attributes().isRegularFile()) {
+                    String key = root.relativize(entry.path()).toString().replace(entry.path().getFileSystem().getSeparator(), "/");
+                    objects.add(new LocalObject(key, entry.attributes().size(), fingerprint(entry.attributes())));
+                }
+            }
+            return objects;
+        }
+
+        private Iterator<Entry> entries(Path directory) {
+            List<Entry> entries = new ArrayList<>();
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                for (Path child : children) {
+                    BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    String name = child.getFileName().toString();
+                    entries.add(new Entry(attributes.isDirectory() ? name + "/" : name, child, attributes));
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to list local directory " + directory, ex);
+            }
+            entries.sort(Comparator.comparing(Entry::sortKey));
+            return entries.iterator();
+        }
+    }
+
+    private record Entry(String sortKey, Path path, BasicFileAttributes attributes) {
+    }
+
+    public static final class Target implements AutoCloseable {
+        private final Path destination;
+        private final Path partial;
+
+        private Target(Path destination, Path partial) {
+            this.destination = destination;
+            this.partial = partial;
+        }
+
+        public void copy(Path source, long position, long length, BandwidthLimiter.JobThrottle throttle, CancellationToken cancellation)
+                throws IOException {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+                out.position(position);
+                long copied = 0;
+                while (copied < length) {
+                    cancellation.throwIfCancelled();
+                    long slice = Math.min(SLICE_BYTES, length - copied);
+                    throttle.acquire(slice);
+                    long moved = in.transferTo(position + copied, slice, out);
+                    if (moved <= 0) {
+                        throw new EOFException("Local file " + source + " ended after " + (position + copied) + " bytes");
+                    }
+                    copied += moved;
+                }
+            }
+        }
+
+        public void write(InputStream source, long position, long length) throws IOException {
+            ReadableByteChannel in = Channels.newChannel(source);
+            try (FileChannel out = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+                long written = 0;
+                while (written < length) {
+                    long moved = out.transferFrom(in, position + written, length - written);
+                    if (moved <= 0) {
+                        throw new EOFException("Source stream ended after " + written + " of " + length + " bytes");
+                    }
+                    written += moved;
+                }
+            }
+        }
+
+        public void commit(String sourceETag) throws IOException {
+            try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            stamp(sourceETag);
+            Files.move(partial, destination, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(partial);
+        }
+
+        private void stamp(String sourceETag) {
+            UserDefinedFileAttributeView view = Files.getFileAttributeView(partial, UserDefinedFileAttributeView.class);
+            if (view == null) {
+                return;
+            }
+            ObjectFingerprint.stamp(sourceETag).forEach((name, value) -> {
+                try {
+                    view.write(name, StandardCharsets.UTF_8.encode(value));
+                } catch (IOException | UnsupportedOperationException ignored) {
+                    // incremental runs fall back to a full copy when the volume has no extended attributes
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.MultipartCheckpointPart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface MultipartCheckpointPartRepository extends JpaRepository<MultipartCheckpointPart, Long> {
+    List<MultipartCheckpointPart> findByJobId(UUID jobId);
+
+    @Modifying
+    @Query("delete from MultipartCheckpointPart p where p.jobId = :jobId")
+    int deleteByJobId(UUID jobId);
+}
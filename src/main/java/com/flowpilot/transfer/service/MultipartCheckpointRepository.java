@@ -0,0 +1,9 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.MultipartCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface MultipartCheckpointRepository extends JpaRepository<MultipartCheckpoint, UUID> {
+}
@@ -0,0 +1,113 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.MultipartCheckpoint;
+import com.flowpilot.transfer.domain.MultipartCheckpointPart;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class MultipartCheckpointService {
+    private final MultipartCheckpointRepository checkpointRepository;
+    private final MultipartCheckpointPartRepository partRepository;
+    private final int batchSize;
+
+    public MultipartCheckpointService(
+            MultipartCheckpointRepository checkpointRepository,
+            MultipartCheckpointPartRepository partRepository,
+            TransferStorageProperties properties
+    ) {
+        this.checkpointRepository = checkpointRepository;
+        this.partRepository = partRepository;
+        this.batchSize = Math.max(properties.getCheckpoint().getBatchSize(), 1);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Snapshot> find(UUID jobId) {
+        return checkpointRepository.findById(jobId).map(checkpoint -> new Snapshot(
+                checkpoint,
+                partRepository.findByJobId(jobId).stream().collect(Collectors.toMap(
+                        MultipartCheckpointPart::getPartNumber,
+                        MultipartCheckpointPart::getETag,
+                        (first, second) -> second
+                ))
+        ));
+    }
+
+    @Transactional
+    public void open(
+            UUID jobId,
+            String uploadId,
+            String bucket,
+            String objectKey,
+            String sourceETag,
+            long objectSizeBytes,
+            long partSizeBytes
+    ) {
+        partRepository.deleteByJobId(jobId);
+        checkpointRepository.save(new MultipartCheckpoint(
+                jobId,
+                uploadId,
+                bucket,
+                objectKey,
+                sourceETag,
+                objectSizeBytes,
+                partSizeBytes,
+                Instant.now()
+        ));
+    }
+
+    @Transactional
+    public void clear(UUID jobId) {
+        partRepository.deleteByJobId(jobId);
+        checkpointRepository.deleteById(jobId);
+    }
+
+    public Writer writer(UUID jobId) {
+        return new Writer(jobId);
+    }
+
+    public record Snapshot(MultipartCheckpoint checkpoint, Map<Integer, String> partETags) {
+    }
+
+    public final class Writer {
+        private final UUID jobId;
+        private List<MultipartCheckpointPart> pending = new ArrayList<>();
+
+        private Writer(UUID jobId) {
+            this.jobId = jobId;
+        }
+
+        public void record(int partNumber, String eTag, long sizeBytes) {
+            List<MultipartCheckpointPart> batch = null;
+            synchronized (this) {
+                pending.add(new MultipartCheckpointPart(jobId, partNumber, eTag, sizeBytes));
+                if (pending.size() >= batchSize) {
+                    batch = pending;
+                    pending = new ArrayList<>();
+                }
+            }
+            if (batch != null) {
+                partRepository.saveAll(batch);
+            }
+        }
+
+        public void flush() {
+            List<MultipartCheckpointPart> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            if (!batch.isEmpty()) {
+                partRepository.saveAll(batch);
+            }
+        }
+    }
+}
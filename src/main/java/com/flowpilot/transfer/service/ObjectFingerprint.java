@@ -0,0 +1,33 @@
+package com.flowpilot.transfer.service;
+
+import java.util.Map;
+
+final class ObjectFingerprint {
+    static final String SOURCE_ETAG = "fp-source-etag";
+
+    private ObjectFingerprint() {
+    }
+
+    static Map<String, String> stamp(String sourceETag) {
+        return sourceETag == null ? Map.of() : Map.of(SOURCE_ETAG, normalize(sourceETag));
+    }
+
+    static boolean listingMatches(long sourceSize, String sourceETag, long destinationSize, String destinationETag) {
+        return sourceSize == destinationSize && sourceETag != null && normalize(sourceETag).equals(normalize(destinationETag));
+    }
+
+    static boolean matches(long sourceSize, String sourceETag, long destinationSize, String destinationETag, Map<String, String> destinationMetadata) {
+        if (sourceSize != destinationSize || sourceETag == null) {
+            return false;
+        }
+        String expected = normalize(sourceETag);
+        return expected.equals(normalize(destinationETag)) || expected.equals(normalize(destinationMetadata.get(SOURCE_ETAG)));
+    }
+
+    private static String normalize(String eTag) {
+        if (eTag == null) {
+            return "";
+        }
+        return eTag.length() >= 2 && eTag.startsWith("\"") && eTag.endsWith("\"") ? eTag.substring(1, eTag.length() - 1) : eTag;
+    }
+}
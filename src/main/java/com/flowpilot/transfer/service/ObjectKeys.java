@@ -0,0 +1,23 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.StorageEndpoint;
+
+final class ObjectKeys {
+    private ObjectKeys() {
+    }
+
+    static String resolve(StorageEndpoint endpoint, String objectKey) {
+        if (!hasText(endpoint.getPrefix())) {
+            return objectKey;
+        }
+        return trimSlash(endpoint.getPrefix()) + "/" + trimSlash(objectKey);
+    }
+
+    static String trimSlash(String value) {
+        return value.replaceAll("^/+", "").replaceAll("/+$", "");
+    }
+
+    static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
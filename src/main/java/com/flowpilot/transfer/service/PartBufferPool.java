@@ -0,0 +1,188 @@
+package com.flowpilot.transfer.service;
+
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class PartBufferPool {
+    private static final long MB = 1024L * 1024;
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
+    private final TransferMetrics metrics;
+    private final int slabSize;
+    private final int totalSlabs;
+    private final Semaphore budget;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger allocated = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public PartBufferPool(TransferStorageProperties properties, TransferMetrics metrics) {
+        TransferStorageProperties.Buffers config = properties.getBuffers();
+        this.metrics = metrics;
+        this.slabSize = (int) (Math.clamp(config.getSlabSizeMb(), 1, 1024) * MB);
+        this.totalSlabs = (int) Math.max(Math.max(config.getMaxMemoryMb(), 1) * MB / slabSize, 1);
+        this.budget = new Semaphore(totalSlabs, true);
+
+        metrics.gauge("transfer.buffers.capacity", "Part buffer memory budget in bytes", this, PartBufferPool::capacityBytes);
+        metrics.gauge("transfer.buffers.in_use", "Part buffer bytes held by in-flight parts", this, PartBufferPool::inUseBytes);
+        metrics.gauge("transfer.buffers.allocated", "Direct memory allocated for part buffer slabs", this, PartBufferPool::allocatedBytes);
+        metrics.gauge("transfer.buffers.waiting", "Parts waiting for part buffer memory", waiting, AtomicInteger::get);
+    }
+
+    public PartBuffer acquire(long length) throws InterruptedException {
+        int slabs = (int) Math.max((length + slabSize - 1) / slabSize, 1);
+        if (slabs > totalSlabs) {
+            throw new IllegalStateException("Part of " + length + " bytes exceeds the part buffer budget of " + capacityBytes() + " bytes");
+        }
+        if (!budget.tryAcquire(slabs, 0, TimeUnit.NANOSECONDS)) {
+            waiting.incrementAndGet();
+            long started = System.nanoTime();
+            try {
+                budget.acquire(slabs);
+            } finally {
+                waiting.decrementAndGet();
+                metrics.recordBufferWait(System.nanoTime() - started);
+            }
+        }
+        ByteBuffer[] buffers = new ByteBuffer[slabs];
+        for (int i = 0; i < slabs; i++) {
+            buffers[i] = take();
+        }
+        return new PartBuffer(buffers, length);
+    }
+
+    public long capacityBytes() {
+        return (long) totalSlabs * slabSize;
+    }
+
+    public long inUseBytes() {
+        return (long) (totalSlabs - budget.availablePermits()) * slabSize;
+    }
+
+    public long allocatedBytes() {
+        return (long) allocated.get() * slabSize;
+    }
+
+    private ByteBuffer take() {
+        ByteBuffer buffer = free.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        allocated.incrementAndGet();
+        return ByteBuffer.allocateDirect(slabSize);
+    }
+
+    private void release(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            buffer.clear();
+            free.offer(buffer);
+        }
+        budget.release(buffers.length);
+    }
+
+    public final class PartBuffer implements AutoCloseable {
+        private final ByteBuffer[] slabs;
+        private final long length;
+        private boolean released;
+
+        private PartBuffer(ByteBuffer[] slabs, long length) {
+            this.slabs = slabs;
+            this.length = length;
+        }
+
+        public void fill(InputStream source) throws IOException {
+            byte[] chunk = new byte[(int) Math.min(COPY_BUFFER_BYTES, Math.max(length, 1))];
+            long filled = 0;
+            int slab = 0;
+            while (filled < length) {
+                int read = source.read(chunk, 0, (int) Math.min(chunk.length, length - filled));
+                if (read < 0) {
+                    throw new EOFException("Source stream ended after " + filled + " of " + length + " bytes");
+                }
+                int offset = 0;
+                while (offset < read) {
+                    if (!slabs[slab].hasRemaining()) {
+                        slab++;
+                    }
+                    int count = Math.min(read - offset, slabs[slab].remaining());
+                    slabs[slab].put(chunk, offset, count);
+                    offset += count;
+                }
+                filled += read;
+            }
+        }
+
+        public RequestBody requestBody() {
+            return RequestBody.fromContentProvider(this::newStream, length, CONTENT_TYPE);
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(slabs);
+            }
+        }
+
+        private InputStream newStream() {
+            ByteBuffer[] views = new ByteBuffer[slabs.length];
+            for (int i = 0; i < slabs.length; i++) {
+                views[i] = slabs[i].duplicate().flip();
+            }
+            return new SlabInputStream(views);
+        }
+    }
+
+    static final class SlabInputStream extends InputStream {
+        private final ByteBuffer[] views;
+        private int current;
+
+        SlabInputStream(ByteBuffer[] views) {
+            this.views = views;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer view = advance();
+            return view == null ? -1 : view.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            ByteBuffer view = advance();
+            if (view == null) {
+                return -1;
+            }
+            int count = Math.min(length, view.remaining());
+            view.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            ByteBuffer view = advance();
+            return view == null ? 0 : view.remaining();
+        }
+
+        private ByteBuffer advance() {
+            while (current < views.length && !views[current].hasRemaining()) {
+                current++;
+            }
+            return current < views.length ? views[current] : null;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.FileSystemException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Component
+public class PartRetryPolicy {
+    private static final int MIN_LATENCY_SAMPLES = 3;
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final TransferMetrics metrics;
+    private final int maxAttemptsPerPart;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final int jobBudget;
+    private final double stragglerFactor;
+    private final long stragglerMinTimeoutNanos;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transfer-straggler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PartRetryPolicy(TransferStorageProperties properties, TransferMetrics metrics) {
+        TransferStorageProperties.Retry config = properties.getRetry();
+        this.metrics = metrics;
+        this.maxAttemptsPerPart = Math.max(config.getMaxAttemptsPerPart(), 1);
+        this.initialBackoffNanos = Math.max(config.getInitialBackoff().toNanos(), 1);
+        this.maxBackoffNanos = Math.max(config.getMaxBackoff().toNanos(), initialBackoffNanos);
+        this.jobBudget = Math.max(config.getJobBudget(), 0);
+        this.stragglerFactor = config.getStragglerFactor();
+        this.stragglerMinTimeoutNanos = config.getStragglerMinTimeout().toNanos();
+    }
+
+    public JobRetries forJob() {
+        return new JobRetries(jobBudget);
+    }
+
+    public <T> T call(
+            JobRetries retries,
+            CancellationToken cancellation,
+            StorageEndpoint endpoint,
+            Consumer<String> onRetry,
+            PartCall<T> part
+    ) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return part.call();
+            } catch (Exception ex) {
+                String reason = retryDecision(retries, cancellation, endpoint, attempt, ex);
+                if (reason == null) {
+                    throw ex;
+                }
+                onRetry.accept(reason);
+                TimeUnit.NANOSECONDS.sleep(backoffNanos(attempt));
+            }
+        }
+    }
+
+    public <T> CompletableFuture<T> callAsync(
+            JobRetries retries,
+            CancellationToken cancellation,
+            StorageEndpoint endpoint,
+            Supplier<CompletableFuture<T>> part
+    ) {
+        return callAsync(retries, cancellation, endpoint, part, 1);
+    }
+
+    public Watch watch(JobRetries retries, long bytes, Runnable abort) {
+        long timeoutNanos = retries.stragglerTimeoutNanos(bytes);
+        Watch watch = new Watch(retries, bytes);
+        if (timeoutNanos > 0) {
+            watch.timer = watchdog.schedule(() -> {
+                watch.tripped.set(true);
+                abort.run();
+            }, timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+        return watch;
+    }
+
+    @PreDestroy
+    public void close() {
+        watchdog.shutdownNow();
+    }
+
+    static String retryReason(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof TransferCancelledException
+                    || current instanceof InterruptedException
+                    || current instanceof CancellationException) {
+                return null;
+            }
+            if (current instanceof PartStragglerException) {
+                return "straggler";
+            }
+            if (current instanceof AwsServiceException service) {
+                int status = service.statusCode();
+                if (service.isThrottlingException() || status == 429 || status == 503) {
+                    return "throttled";
+                }
+                return status >= 500 || status == 408 ? "server" : null;
+            }
+            if (current instanceof SocketTimeoutException || current instanceof ApiCallAttemptTimeoutException) {
+                return "timeout";
+            }
+            if (current instanceof FileSystemException) {
+                return null;
+            }
+            if (current instanceof IOException) {
+                return "io";
+            }
+        }
+        return null;
+    }
+
+    private <T> CompletableFuture<T> callAsync(
+            JobRetries retries,
+            CancellationToken cancellation,
+            StorageEndpoint endpoint,
+            Supplier<CompletableFuture<T>> part,
+            int attempt
+    ) {
+        return part.get().handle((value, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(value);
+            }
+            String reason = retryDecision(retries, cancellation, endpoint, attempt, error);
+            if (reason == null) {
+                return CompletableFuture.<T>failedFuture(error);
+            }
+            return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(backoffNanos(attempt), TimeUnit.NANOSECONDS))
+                    .thenCompose(ignored -> callAsync(retries, cancellation, endpoint, part, attempt + 1));
+        }).thenCompose(result -> result);
+    }
+
+    private String retryDecision(JobRetries retries, CancellationToken cancellation, StorageEndpoint endpoint, int attempt, Throwable error) {
+        if (cancellation.isCancelled() || Thread.currentThread().isInterrupted()) {
+            return null;
+        }
+        String reason = retryReason(error);
+        if (reason == null) {
+            return null;
+        }
+        if (attempt >= maxAttemptsPerPart) {
+            metrics.recordPartRetryExhausted(endpoint, "attempts");
+            return null;
+        }
+        if (!retries.tryAcquire()) {
+            metrics.recordPartRetryExhausted(endpoint, "budget");
+            return null;
+        }
+        metrics.recordPartRetry(endpoint, reason);
+        return reason;
+    }
+
+    private long backoffNanos(int attempt) {
+        long ceiling = initialBackoffNanos << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxBackoffNanos) {
+            ceiling = maxBackoffNanos;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    @FunctionalInterface
+    public interface PartCall<T> {
+        T call() throws Exception;
+    }
+
+    public final class JobRetries {
+        private final AtomicInteger remaining;
+        private final AtomicInteger used = new AtomicInteger();
+        private double nanosPerByte;
+        private int samples;
+
+        private JobRetries(int budget) {
+            this.remaining = new AtomicInteger(budget);
+        }
+
+        public int used() {
+            return used.get();
+        }
+
+        private boolean tryAcquire() {
+            if (remaining.getAndDecrement() <= 0) {
+                remaining.incrementAndGet();
+                return false;
+            }
+            used.incrementAndGet();
+            return true;
+        }
+
+        private synchronized void recordLatency(long bytes, long elapsedNanos) {
+            double sample = elapsedNanos / (double) Math.max(bytes, 1);
+            nanosPerByte = samples == 0 ? sample : nanosPerByte + LATENCY_SMOOTHING * (sample - nanosPerByte);
+            samples++;
+        }
+
+        private synchronized long stragglerTimeoutNanos(long bytes) {
+            if (stragglerFactor <= 0 || samples < MIN_LATENCY_SAMPLES) {
+                return 0;
+            }
+            return Math.max((long) (nanosPerByte * bytes * stragglerFactor), stragglerMinTimeoutNanos);
+        }
+    }
+
+    public static final class Watch implements AutoCloseable {
+        private final JobRetries retries;
+        private final long bytes;
+        private final long startedNanos = System.nanoTime();
+        private final AtomicBoolean tripped = new AtomicBoolean();
+        private volatile ScheduledFuture<?> timer;
+
+        private Watch(JobRetries retries, long bytes) {
+            this.retries = retries;
+            this.bytes = bytes;
+        }
+
+        public boolean tripped() {
+            return tripped.get();
+        }
+
+        public void completed() {
+            close();
+            if (!tripped.get()) {
+                retries.recordLatency(bytes, System.nanoTime() - startedNanos);
+            }
+        }
+
+        @Override
+        public void close() {
+            ScheduledFuture<?> scheduled = timer;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.flowpilot.transfer.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class PartScheduler {
+    private final int maxInFlight;
+    private final int maxInFlightPerEndpoint;
+    private final Semaphore inFlight;
+    private final Map<String, Semaphore> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transfer-part-", 0).factory());
+
+    public PartScheduler(TransferStorageProperties properties, TransferMetrics metrics) {
+        TransferStorageProperties.Parts config = properties.getParts();
+        this.maxInFlight = Math.max(config.getMaxInFlight(), 1);
+        this.maxInFlightPerEndpoint = Math.max(config.getMaxInFlightPerEndpoint(), 1);
+        this.inFlight = new Semaphore(maxInFlight, true);
+        metrics.gauge("transfer.parts.queued", "Parts waiting for an endpoint or global slot", this, PartScheduler::queuedParts);
+        metrics.gauge("transfer.parts.in_flight", "Parts currently transferring", this, PartScheduler::inFlightParts);
+    }
+
+    public JobParts forJob(int parallelStreams, String... endpointKeys) {
+        List<Semaphore> limits = Arrays.stream(endpointKeys)
+                .distinct()
+                .sorted()
+                .map(key -> endpoints.computeIfAbsent(key, ignored -> new Semaphore(maxInFlightPerEndpoint, true)))
+                .toList();
+        return new JobParts(Math.max(parallelStreams, 1), limits);
+    }
+
+    public int queuedParts() {
+        return queued.get();
+    }
+
+    public int inFlightParts() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public final class JobParts {
+        private final JobParts job;
+        private final ResizableSemaphore streams;
+        private final List<Semaphore> endpointLimits;
+        private int parallelism;
+        private volatile boolean failed;
+
+        private JobParts(int parallelStreams, List<Semaphore> endpointLimits) {
+            this.job = this;
+            this.streams = new ResizableSemaphore(parallelStreams);
+            this.endpointLimits = endpointLimits;
+            this.parallelism = parallelStreams;
+        }
+
+        private JobParts(JobParts job) {
+            this.job = job;
+            this.streams = job.streams;
+            this.endpointLimits = job.endpointLimits;
+        }
+
+        public JobParts forObject() {
+            return new JobParts(job);
+        }
+
+        public int parallelism() {
+            synchronized (job) {
+                return job.parallelism;
+            }
+        }
+
+        public void resize(int parallelStreams) {
+            synchronized (job) {
+                int target = Math.max(parallelStreams, 1);
+                if (target > job.parallelism) {
+                    streams.release(target - job.parallelism);
+                } else if (target < job.parallelism) {
+                    streams.reduce(job.parallelism - target);
+                }
+                job.parallelism = target;
+            }
+        }
+
+        public <T> Future<T> submit(Callable<T> part) throws InterruptedException {
+            streams.acquire();
+            queued.incrementAndGet();
+            try {
+                PartTask<T> task = new PartTask<>(part);
+                executor.execute(task);
+                return task;
+            } catch (RejectedExecutionException ex) {
+                queued.decrementAndGet();
+                streams.release();
+                throw ex;
+            }
+        }
+
+        public <T> CompletableFuture<T> submitAsync(Supplier<CompletableFuture<T>> part) {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    streams.acquire();
+                    queued.incrementAndGet();
+                    acquireSlots();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(ex);
+                }
+            }, executor).thenCompose(ignored -> {
+                CompletableFuture<T> pending;
+                try {
+                    pending = part.get();
+                } catch (RuntimeException ex) {
+                    pending = CompletableFuture.failedFuture(ex);
+                }
+                return pending.whenComplete((result, error) -> {
+                    if (error != null) {
+                        failed = true;
+                    }
+                    releaseSlots();
+                });
+            });
+        }
+
+        public boolean hasFailed() {
+            return failed;
+        }
+
+        private <T> T run(Callable<T> part) throws Exception {
+            acquireSlots();
+            try {
+                return part.call();
+            } catch (Exception ex) {
+                failed = true;
+                throw ex;
+            } finally {
+                releaseSlots();
+            }
+        }
+
+        private void releaseSlots() {
+            inFlight.release();
+            endpointLimits.forEach(Semaphore::release);
+            streams.release();
+        }
+
+        private final class PartTask<T> extends FutureTask<T> {
+            private final AtomicBoolean claimed;
+
+            private PartTask(Callable<T> part) {
+                this(part, new AtomicBoolean());
+            }
+
+            private PartTask(Callable<T> part, AtomicBoolean claimed) {
+                super(() -> claimed.compareAndSet(false, true) ? JobParts.this.run(part) : null);
+                this.claimed = claimed;
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() && claimed.compareAndSet(false, true)) {
+                    queued.decrementAndGet();
+                    streams.release();
+                }
+            }
+        }
+
+        private void acquireSlots() throws InterruptedException {
+            int held = 0;
+            try {
+                for (Semaphore limit : endpointLimits) {
+                    limit.acquire();
+                    held++;
+                }
+                inFlight.acquire();
+            } catch (InterruptedException ex) {
+                for (int i = 0; i < held; i++) {
+                    endpointLimits.get(i).release();
+                }
+                streams.release();
+                failed = true;
+                throw ex;
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+        private ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        private void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.flowpilot.transfer.service;
+
+import java.io.IOException;
+
+public class PartStragglerException extends IOException {
+    public PartStragglerException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
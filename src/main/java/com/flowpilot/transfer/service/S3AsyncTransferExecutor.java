@@ -0,0 +1,631 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.JobKind;
+import com.flowpilot.transfer.domain.MultipartCheckpoint;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.StorageType;
+import com.flowpilot.transfer.domain.TransferJob;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "transfer.executor.mode", havingValue = "s3-async")
+public class S3AsyncTransferExecutor implements TransferExecutor {
+    private static final long MIN_MULTIPART_SIZE_BYTES = 5L * 1024 * 1024;
+    private static final long MAX_COPY_SIZE_BYTES = 5L * 1024 * 1024 * 1024;
+
+    private final S3ClientRegistry clientRegistry;
+    private final MultipartCheckpointService checkpointService;
+    private final ChunkPlanTuner chunkPlanTuner;
+    private final TransferMetrics metrics;
+    private final TransferProgressRegistry progressRegistry;
+    private final BandwidthLimiter bandwidthLimiter;
+    private final PartRetryPolicy retryPolicy;
+    private final PartScheduler partScheduler;
+    private final boolean serverSideCopy;
+    private final ExecutorService callbacks = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("transfer-async-", 0).factory()
+    );
+
+    public S3AsyncTransferExecutor(
+            TransferStorageProperties properties,
+            S3ClientRegistry clientRegistry,
+            MultipartCheckpointService checkpointService,
+            ChunkPlanTuner chunkPlanTuner,
+            TransferMetrics metrics,
+            TransferProgressRegistry progressRegistry,
+            BandwidthLimiter bandwidthLimiter,
+            PartRetryPolicy retryPolicy,
+            PartScheduler partScheduler
+    ) {
+        this.clientRegistry = clientRegistry;
+        this.checkpointService = checkpointService;
+        this.chunkPlanTuner = chunkPlanTuner;
+        this.metrics = metrics;
+        this.progressRegistry = progressRegistry;
+        this.bandwidthLimiter = bandwidthLimiter;
+        this.retryPolicy = retryPolicy;
+        this.partScheduler = partScheduler;
+        this.serverSideCopy = properties.getExecutor().isServerSideCopy();
+    }
+
+    @Override
+    public TransferExecutionResult execute(TransferJob job, ExecutionOptions options, CancellationToken cancellation) {
+        if (options.simulateFailure()) {
+            String reason = options.failureReason() == null || options.failureReason().isBlank()
+                    ? "Simulated transfer failure"
+                    : options.failureReason();
+            return TransferExecutionResult.failure(0, reason);
+        }
+        if (job.getKind() == JobKind.PREFIX) {
+            return TransferExecutionResult.failure(0, "Prefix jobs are not supported in s3-async mode");
+        }
+        if (job.getSource().getType() == StorageType.LOCAL || job.getDestination().getType() == StorageType.LOCAL) {
+            return TransferExecutionResult.failure(0, "Local storage endpoints are not supported in s3-async mode");
+        }
+        PartRetryPolicy.JobRetries retries = retryPolicy.forJob();
+        try (BandwidthLimiter.JobThrottle throttle = bandwidthLimiter.open(job);
+             S3ClientRegistry.Lease<S3AsyncClient> sourceClient = clientRegistry.leaseAsync(job.getSource());
+             S3ClientRegistry.Lease<S3AsyncClient> destinationClient = clientRegistry.leaseAsync(job.getDestination())) {
+            return executeObject(job, throttle, retries, cancellation, sourceClient.client(), destinationClient.client())
+                    .withPartRetries(retries.used());
+        } catch (RuntimeException ex) {
+            TransferExecutionResult result = cancellation.isCancelled()
+                    ? TransferExecutionResult.cancelled(0)
+                    : TransferExecutionResult.failure(0, "Transfer failed: " + ex.getMessage());
+            return result.withPartRetries(retries.used());
+        }
+    }
+
+    private TransferExecutionResult executeObject(
+            TransferJob job,
+            BandwidthLimiter.JobThrottle throttle,
+            PartRetryPolicy.JobRetries retries,
+            CancellationToken cancellation,
+            S3AsyncClient sourceClient,
+            S3AsyncClient destinationClient
+    ) {
+        StorageEndpoint source = job.getSource();
+        StorageEndpoint destination = job.getDestination();
+        Route route = new Route(
+                source,
+                sourceClient,
+                objectKey(source, job.getObjectKey()),
+                destination,
+                destinationClient,
+                objectKey(destination, job.getObjectKey()),
+                throttle,
+                retries,
+                cancellation
+        );
+
+        Instant start = Instant.now();
+        CompletableFuture<?> transfer = null;
+        try {
+            HeadObjectResponse head = await(route.sourceClient().headObject(
+                    HeadObjectRequest.builder().bucket(route.sourceBucket()).key(route.sourceKey()).build()
+            ));
+            long objectSizeBytes = head.contentLength();
+            progressRegistry.updateTotal(job.getId(), objectSizeBytes);
+            if (job.isIncremental() && await(unchanged(route, objectSizeBytes, head.eTag()))) {
+                checkpointService.find(job.getId()).ifPresent(snapshot -> {
+                    abortQuietly(route, snapshot.checkpoint().getUploadId());
+                    checkpointService.clear(job.getId());
+                });
+                progressRegistry.addBytes(job.getId(), objectSizeBytes);
+                metrics.recordSkipped(source, destination, objectSizeBytes);
+                return TransferExecutionResult.skipped();
+            }
+            ChunkPlan plan = chunkPlanTuner.resolve(job, objectSizeBytes);
+            int parallelStreams = resolveParallelStreams(plan);
+            PartScheduler.JobParts parts = partScheduler.forJob(parallelStreams, endpointKey(source), endpointKey(destination));
+            boolean copy = serverSideCopy && source.getType() == destination.getType();
+            long partSizeBytes = copy ? Math.min(resolvePartSize(plan), MAX_COPY_SIZE_BYTES) : resolvePartSize(plan);
+
+            if (objectSizeBytes <= partSizeBytes) {
+                transfer = copy
+                        ? parts.submitAsync(() -> retrying(route, route.destination(), () -> copySinglePart(route, objectSizeBytes, head)))
+                        : parts.submitAsync(() -> retrying(route, route.source(), () -> transferSinglePart(route, objectSizeBytes, head.eTag())));
+                await(transfer);
+                progressRegistry.addBytes(job.getId(), objectSizeBytes);
+            } else {
+                transfer = transferMultipart(job, route, parts, objectSizeBytes, head.eTag(), partSizeBytes, parallelStreams, copy);
+                await(transfer);
+            }
+
+            double throughputMbps = throughput(objectSizeBytes, Duration.between(start, Instant.now()));
+            return TransferExecutionResult.success(throughputMbps)
+                    .withPlan((int) (partSizeBytes / (1024L * 1024L)), parallelStreams, objectSizeBytes);
+        } catch (CompletionException ex) {
+            if (cancellation.isCancelled()) {
+                return TransferExecutionResult.cancelled(0);
+            }
+            return TransferExecutionResult.failure(0, "Transfer failed: " + ex.getCause().getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (transfer != null) {
+                transfer.cancel(true);
+            }
+            return TransferExecutionResult.failure(0, "Transfer interrupted");
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        callbacks.close();
+    }
+
+    private CompletableFuture<Void> transferSinglePart(Route route, long objectSizeBytes, String sourceETag) {
+        return throttled(route, objectSizeBytes).thenCompose(ignored -> timed("get", route.source(), route.cancellation(), () -> route.sourceClient().getObject(
+                GetObjectRequest.builder().bucket(route.sourceBucket()).key(route.sourceKey()).build(),
+                AsyncResponseTransformer.toPublisher()
+        )).thenCompose(body -> timed("put", route.destination(), route.cancellation(), () -> failOnBodyError(body, publisher ->
+                route.destinationClient().putObject(
+                        PutObjectRequest.builder()
+                                .bucket(route.destinationBucket())
+                                .key(route.destinationKey())
+                                .contentLength(objectSizeBytes)
+                                .metadata(ObjectFingerprint.stamp(sourceETag))
+                                .build(),
+                        AsyncRequestBody.fromPublisher(publisher)
+                ))))).thenAccept(response -> metrics.recordBytes(route.source(), route.destination(), "stream", objectSizeBytes));
+    }
+
+    private CompletableFuture<Void> copySinglePart(Route route, long objectSizeBytes, HeadObjectResponse head) {
+        Map<String, String> metadata = new HashMap<>(head.metadata());
+        metadata.putAll(ObjectFingerprint.stamp(head.eTag()));
+        return timed("copy", route.destination(), route.cancellation(), () -> route.destinationClient().copyObject(CopyObjectRequest.builder()
+                .sourceBucket(route.sourceBucket())
+                .sourceKey(route.sourceKey())
+                .copySourceIfMatch(head.eTag())
+                .destinationBucket(route.destinationBucket())
+                .destinationKey(route.destinationKey())
+                .metadataDirective(MetadataDirective.REPLACE)
+                .metadata(metadata)
+                .contentType(head.contentType())
+                .contentEncoding(head.contentEncoding())
+                .contentDisposition(head.contentDisposition())
+                .contentLanguage(head.contentLanguage())
+                .cacheControl(head.cacheControl())
+                .build()
+        )).thenAccept(response -> metrics.recordBytes(route.source(), route.destination(), "copy", objectSizeBytes));
+    }
+
+    private CompletableFuture<Void> transferMultipart(
+            TransferJob job,
+            Route route,
+            PartScheduler.JobParts parts,
+            long objectSizeBytes,
+            String sourceETag,
+            long partSizeBytes,
+            int parallelStreams,
+            boolean copy
+    ) {
+        UUID jobId = job.getId();
+        boolean finalAttempt = job.getAttemptCount() >= job.getMaxRetries();
+        return openUpload(jobId, route, objectSizeBytes, sourceETag, partSizeBytes).thenCompose(upload -> {
+            Window window = new Window(
+                    jobId,
+                    route,
+                    parts,
+                    upload,
+                    objectSizeBytes,
+                    sourceETag,
+                    checkpointService.writer(jobId),
+                    copy
+            );
+            CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(parallelStreams, window.totalParts)];
+            for (int lane = 0; lane < lanes.length; lane++) {
+                lanes[lane] = window.nextPart();
+            }
+            return CompletableFuture.allOf(lanes)
+                    .thenCompose(ignored -> {
+                        route.cancellation().throwIfCancelled();
+                        return route.destinationClient().completeMultipartUpload(
+                                CompleteMultipartUploadRequest.builder()
+                                        .bucket(route.destinationBucket())
+                                        .key(route.destinationKey())
+                                        .uploadId(upload.uploadId())
+                                        .multipartUpload(CompletedMultipartUpload.builder().parts(window.sortedParts()).build())
+                                        .build()
+                        );
+                    })
+                    .handleAsync((response, error) -> {
+                        if (error == null) {
+                            checkpointService.clear(jobId);
+                            return null;
+                        }
+                        window.failed.set(true);
+                        if (finalAttempt || uploadGone(error) || route.cancellation().isCancelled()) {
+                            abortQuietly(route, upload.uploadId());
+                            checkpointService.clear(jobId);
+                        } else {
+                            window.checkpoint.flush();
+                        }
+                        throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                    }, callbacks);
+        });
+    }
+
+    private CompletableFuture<ResumableUpload> openUpload(UUID jobId, Route route, long objectSizeBytes, String sourceETag, long partSizeBytes) {
+        return CompletableFuture.supplyAsync(() -> checkpointService.find(jobId), callbacks).thenCompose(snapshot -> {
+            if (snapshot.isPresent()) {
+                MultipartCheckpoint checkpoint = snapshot.get().checkpoint();
+                boolean sameTarget = checkpoint.getBucket().equals(route.destinationBucket())
+                        && checkpoint.getObjectKey().equals(route.destinationKey())
+                        && checkpoint.getObjectSizeBytes() == objectSizeBytes
+                        && Objects.equals(checkpoint.getSourceETag(), sourceETag);
+                if (sameTarget) {
+                    return listUploadedParts(route, checkpoint, snapshot.get().partETags()).thenCompose(uploaded -> {
+                        if (uploaded != null) {
+                            return CompletableFuture.completedFuture(
+                                    new ResumableUpload(checkpoint.getUploadId(), checkpoint.getPartSizeBytes(), uploaded)
+                            );
+                        }
+                        abortQuietly(route, checkpoint.getUploadId());
+                        return createUpload(jobId, route, objectSizeBytes, sourceETag, partSizeBytes);
+                    });
+                }
+                abortQuietly(route, checkpoint.getUploadId());
+            }
+            return createUpload(jobId, route, objectSizeBytes, sourceETag, partSizeBytes);
+        });
+    }
+
+    private CompletableFuture<Map<Integer, CompletedPart>> listUploadedParts(
+            Route route,
+            MultipartCheckpoint checkpoint,
+            Map<Integer, String> recordedETags
+    ) {
+        Map<Integer, CompletedPart> uploaded = new ConcurrentHashMap<>();
+        return route.destinationClient().listPartsPaginator(ListPartsRequest.builder()
+                .bucket(checkpoint.getBucket())
+                .key(checkpoint.getObjectKey())
+                .uploadId(checkpoint.getUploadId())
+                .build()
+        ).parts().subscribe(part -> {
+            long expectedSize = Math.min(
+                    checkpoint.getPartSizeBytes(),
+                    checkpoint.getObjectSizeBytes() - (long) (part.partNumber() - 1) * checkpoint.getPartSizeBytes()
+            );
+            String recorded = recordedETags.get(part.partNumber());
+            if (part.size() == expectedSize && (recorded == null || recorded.equals(part.eTag()))) {
+                uploaded.put(part.partNumber(), CompletedPart.builder()
+                        .partNumber(part.partNumber())
+                        .eTag(part.eTag())
+                        .build());
+            }
+        }).handle((ignored, error) -> {
+            if (error == null) {
+                return uploaded;
+            }
+            if (uploadGone(error)) {
+                return null;
+            }
+            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+        });
+    }
+
+    private CompletableFuture<ResumableUpload> createUpload(
+            UUID jobId,
+            Route route,
+            long objectSizeBytes,
+            String sourceETag,
+            long partSizeBytes
+    ) {
+        return route.destinationClient().createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(route.destinationBucket())
+                    .key(route.destinationKey())
+                    .metadata(ObjectFingerprint.stamp(sourceETag))
+                    .build()
+            ).thenApplyAsync(multipart -> {
+                checkpointService.open(
+                        jobId,
+                        multipart.uploadId(),
+                        route.destinationBucket(),
+                        route.destinationKey(),
+                        sourceETag,
+                        objectSizeBytes,
+                        partSizeBytes
+                );
+                return new ResumableUpload(multipart.uploadId(), partSizeBytes, new ConcurrentHashMap<>());
+            }, callbacks);
+    }
+
+    private CompletableFuture<CompletedPart> uploadPart(Route route, String uploadId, int partNumber, long startByte, long endByte, long contentLength) {
+        return timed("get", route.source(), route.cancellation(), () -> route.sourceClient().getObject(
+                GetObjectRequest.builder()
+                        .bucket(route.sourceBucket())
+                        .key(route.sourceKey())
+                        .range("bytes=" + startByte + "-" + endByte)
+                        .build(),
+                AsyncResponseTransformer.toPublisher()
+        )).thenCompose(body -> timed("put", route.destination(), route.cancellation(), () -> failOnBodyError(body, publisher ->
+                route.destinationClient().uploadPart(
+                        UploadPartRequest.builder()
+                                .bucket(route.destinationBucket())
+                                .key(route.destinationKey())
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength(contentLength)
+                                .build(),
+                        AsyncRequestBody.fromPublisher(publisher)
+                )))).thenApply(response -> {
+            metrics.recordBytes(route.source(), route.destination(), "stream", contentLength);
+            return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+        });
+    }
+
+    private CompletableFuture<CompletedPart> copyPart(
+            Route route,
+            String sourceETag,
+            String uploadId,
+            int partNumber,
+            long startByte,
+            long endByte,
+            long contentLength
+    ) {
+        return timed("copy", route.destination(), route.cancellation(), () -> route.destinationClient().uploadPartCopy(
+                UploadPartCopyRequest.builder()
+                        .sourceBucket(route.sourceBucket())
+                        .sourceKey(route.sourceKey())
+                        .copySourceIfMatch(sourceETag)
+                        .copySourceRange("bytes=" + startByte + "-" + endByte)
+                        .destinationBucket(route.destinationBucket())
+                        .destinationKey(route.destinationKey())
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .build()
+        )).thenApply(response -> {
+            metrics.recordBytes(route.source(), route.destination(), "copy", contentLength);
+            return CompletedPart.builder().partNumber(partNumber).eTag(response.copyPartResult().eTag()).build();
+        });
+    }
+
+    private <T> CompletableFuture<T> retrying(Route route, StorageEndpoint endpoint, Supplier<CompletableFuture<T>> part) {
+        return retryPolicy.callAsync(route.retries(), route.cancellation(), endpoint, part);
+    }
+
+    private <T> CompletableFuture<T> failOnBodyError(
+            SdkPublisher<ByteBuffer> body,
+            Function<SdkPublisher<ByteBuffer>, CompletableFuture<T>> upload
+    ) {
+        CompletableFuture<T> bodyFailed = new CompletableFuture<>();
+        CompletableFuture<T> response = upload.apply(body.doAfterOnError(bodyFailed::completeExceptionally));
+        bodyFailed.whenComplete((ignored, error) -> response.completeExceptionally(error));
+        return response;
+    }
+
+    private CompletableFuture<Void> throttled(Route route, long bytes) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                route.throttle().acquire(bytes);
+            } catch (InterruptedIOException ex) {
+                throw new CompletionException(ex);
+            }
+        }, callbacks);
+    }
+
+    private CompletableFuture<Boolean> unchanged(Route route, long objectSizeBytes, String sourceETag) {
+        return timed("head", route.destination(), route.cancellation(), () -> route.destinationClient().headObject(
+                HeadObjectRequest.builder().bucket(route.destinationBucket()).key(route.destinationKey()).build()
+        )).handle((existing, error) -> {
+            if (error == null) {
+                return ObjectFingerprint.matches(objectSizeBytes, sourceETag, existing.contentLength(), existing.eTag(), existing.metadata());
+            }
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof S3Exception s3 && s3.statusCode() == 404) {
+                return false;
+            }
+            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+        });
+    }
+
+    private void abortQuietly(Route route, String uploadId) {
+        metrics.recordAbort(route.destination());
+        route.destinationClient().abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(route.destinationBucket())
+                .key(route.destinationKey())
+                .uploadId(uploadId)
+                .build()
+        ).exceptionally(error -> null);
+    }
+
+    private boolean uploadGone(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof S3Exception s3 && s3.statusCode() == 404;
+    }
+
+    private <T> T await(CompletableFuture<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw new CompletionException(ex.getCause() instanceof CompletionException nested && nested.getCause() != null
+                    ? nested.getCause()
+                    : ex.getCause());
+        }
+    }
+
+    private <T> CompletableFuture<T> timed(
+            String phase,
+            StorageEndpoint endpoint,
+            CancellationToken cancellation,
+            Supplier<CompletableFuture<T>> request
+    ) {
+        long started = System.nanoTime();
+        CompletableFuture<T> pending = request.get();
+        CancellationToken.Registration registration = cancellation.onCancel(() -> pending.cancel(true));
+        return pending.whenComplete((response, error) -> {
+            registration.close();
+            metrics.recordPart(phase, endpoint, error == null ? "success" : "failure", System.nanoTime() - started);
+        });
+    }
+
+    private String endpointKey(StorageEndpoint endpoint) {
+        return endpoint.getType() + "/" + endpoint.getRegion();
+    }
+
+    private long resolvePartSize(ChunkPlan chunkPlan) {
+        int chunkMb = chunkPlan != null ? chunkPlan.getChunkSizeMb() : 64;
+        long configured = Math.max(chunkMb, 1) * 1024L * 1024L;
+        return Math.max(configured, MIN_MULTIPART_SIZE_BYTES);
+    }
+
+    private int resolveParallelStreams(ChunkPlan chunkPlan) {
+        int streams = chunkPlan != null ? chunkPlan.getParallelStreams() : 4;
+        return Math.max(streams, 1);
+    }
+
+    private String objectKey(StorageEndpoint endpoint, String objectKey) {
+        return ObjectKeys.resolve(endpoint, objectKey);
+    }
+
+    private double throughput(long bytes, Duration elapsed) {
+        double seconds = Math.max(elapsed.toMillis() / 1000.0, 0.001);
+        return (bytes * 8.0) / 1_000_000.0 / seconds;
+    }
+
+    private final class Window {
+        private final UUID jobId;
+        private final Route route;
+        private final PartScheduler.JobParts parts;
+        private final ResumableUpload upload;
+        private final long objectSizeBytes;
+        private final String sourceETag;
+        private final MultipartCheckpointService.Writer checkpoint;
+        private final boolean copy;
+        private final int totalParts;
+        private final AtomicInteger next = new AtomicInteger(1);
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        private Window(
+                UUID jobId,
+                Route route,
+                PartScheduler.JobParts parts,
+                ResumableUpload upload,
+                long objectSizeBytes,
+                String sourceETag,
+                MultipartCheckpointService.Writer checkpoint,
+                boolean copy
+        ) {
+            this.jobId = jobId;
+            this.route = route;
+            this.parts = parts;
+            this.upload = upload;
+            this.objectSizeBytes = objectSizeBytes;
+            this.sourceETag = sourceETag;
+            this.checkpoint = checkpoint;
+            this.copy = copy;
+            this.totalParts = (int) ((objectSizeBytes + upload.partSizeBytes() - 1) / upload.partSizeBytes());
+            upload.completedParts().keySet().forEach(partNumber -> progressRegistry.addBytes(jobId, partLength(partNumber)));
+        }
+
+        private CompletableFuture<Void> nextPart() {
+            int partNumber = next.getAndIncrement();
+            while (partNumber <= totalParts && upload.completedParts().containsKey(partNumber)) {
+                partNumber = next.getAndIncrement();
+            }
+            if (route.cancellation().isCancelled()) {
+                return CompletableFuture.failedFuture(new TransferCancelledException("Transfer cancelled: " + jobId));
+            }
+            if (partNumber > totalParts || failed.get()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            int number = partNumber;
+            long startByte = (long) (number - 1) * upload.partSizeBytes();
+            long length = partLength(number);
+            long endByte = startByte + length - 1;
+            CompletableFuture<CompletedPart> part = parts.submitAsync(() -> copy
+                    ? retrying(route, route.destination(), () -> copyPart(route, sourceETag, upload.uploadId(), number, startByte, endByte, length))
+                    : retrying(route, route.source(), () -> throttled(route, length)
+                            .thenCompose(ignored -> uploadPart(route, upload.uploadId(), number, startByte, endByte, length))));
+            return part.whenComplete((completed, error) -> {
+                if (error != null) {
+                    failed.set(true);
+                }
+            }).thenComposeAsync(completed -> {
+                upload.completedParts().put(number, completed);
+                checkpoint.record(number, completed.eTag(), length);
+                progressRegistry.addBytes(jobId, length);
+                return nextPart();
+            }, callbacks);
+        }
+
+        private long partLength(int partNumber) {
+            long startByte = (long) (partNumber - 1) * upload.partSizeBytes();
+            return Math.min(upload.partSizeBytes(), objectSizeBytes - startByte);
+        }
+
+        private List<CompletedPart> sortedParts() {
+            List<CompletedPart> parts = new ArrayList<>(upload.completedParts().values());
+            parts.sort(Comparator.comparingInt(CompletedPart::partNumber));
+            return parts;
+        }
+    }
+
+    private record Route(
+            StorageEndpoint source,
+            S3AsyncClient sourceClient,
+            String sourceKey,
+            StorageEndpoint destination,
+            S3AsyncClient destinationClient,
+            String destinationKey,
+            BandwidthLimiter.JobThrottle throttle,
+            PartRetryPolicy.JobRetries retries,
+            CancellationToken cancellation
+    ) {
+        String sourceBucket() {
+            return source.getBucket();
+        }
+
+        String destinationBucket() {
+            return destination.getBucket();
+        }
+    }
+
+    private record ResumableUpload(String uploadId, long partSizeBytes, Map<Integer, CompletedPart> completedParts) {
+    }
+}
@@ -0,0 +1,231 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.StorageType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@Component
+public class S3ClientRegistry {
+    private static final int CONTROL_CONNECTIONS = 16;
+
+    private final TransferStorageProperties properties;
+    private final TransferStorageProperties.Clients config;
+    private final int maxConnections;
+    private final Pool<S3Client> syncClients = new Pool<>(this::buildClient);
+    private final Pool<S3AsyncClient> asyncClients = new Pool<>(this::buildAsyncClient);
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "s3-client-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public S3ClientRegistry(TransferStorageProperties properties, TransferMetrics metrics) {
+        this.properties = properties;
+        this.config = properties.getClients();
+        this.maxConnections = config.getMaxConnections() > 0
+                ? config.getMaxConnections()
+                : properties.getParts().getMaxInFlightPerEndpoint() + CONTROL_CONNECTIONS;
+        long intervalMillis = Math.max(config.getEvictionInterval().toMillis(), 1000);
+        evictor.scheduleAtFixedRate(this::evictIdle, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        metrics.gauge("transfer.clients", "Cached S3 clients", syncClients.entries, Map::size, "kind", "sync");
+        metrics.gauge("transfer.clients", "Cached S3 clients", asyncClients.entries, Map::size, "kind", "async");
+    }
+
+    public Lease<S3Client> lease(StorageEndpoint endpoint) {
+        return syncClients.lease(keyOf(endpoint));
+    }
+
+    public Lease<S3AsyncClient> leaseAsync(StorageEndpoint endpoint) {
+        return asyncClients.lease(keyOf(endpoint));
+    }
+
+    @PreDestroy
+    public void close() {
+        evictor.shutdownNow();
+        syncClients.closeAll();
+        asyncClients.closeAll();
+    }
+
+    private void evictIdle() {
+        long idleBefore = System.nanoTime() - config.getIdleClientTimeout().toNanos();
+        syncClients.evictIdle(idleBefore);
+        asyncClients.evictIdle(idleBefore);
+    }
+
+    private ClientKey keyOf(StorageEndpoint endpoint) {
+        TransferStorageProperties.Backend backend = backendFor(endpoint.getType());
+        String region = hasText(endpoint.getRegion()) ? endpoint.getRegion() : backend.getRegion();
+        String url = hasText(backend.getEndpoint()) ? backend.getEndpoint() : null;
+        return new ClientKey(endpoint.getType(), url, region, backend.getAccessKey());
+    }
+
+    private S3Client buildClient(ClientKey key) {
+        TransferStorageProperties.Backend backend = backendFor(key.type());
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(key.region()))
+                .credentialsProvider(credentials(backend))
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionTimeout(config.getConnectionTimeout())
+                        .socketTimeout(config.getSocketTimeout())
+                        .connectionAcquisitionTimeout(config.getConnectionAcquisitionTimeout())
+                        .connectionMaxIdleTime(config.getConnectionMaxIdleTime())
+                        .tcpKeepAlive(true)
+                        .useIdleConnectionReaper(true))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(backend.isPathStyleAccess())
+                        .build());
+        if (key.endpoint() != null) {
+            builder.endpointOverride(URI.create(key.endpoint()));
+        }
+        return builder.build();
+    }
+
+    private S3AsyncClient buildAsyncClient(ClientKey key) {
+        TransferStorageProperties.Backend backend = backendFor(key.type());
+        TransferStorageProperties.Async async = properties.getAsync();
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .region(Region.of(key.region()))
+                .credentialsProvider(credentials(backend))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(async.getMaxConcurrency())
+                        .maxPendingConnectionAcquires(async.getMaxPendingConnectionAcquires())
+                        .connectionTimeout(config.getConnectionTimeout())
+                        .connectionAcquisitionTimeout(config.getConnectionAcquisitionTimeout())
+                        .connectionMaxIdleTime(config.getConnectionMaxIdleTime())
+                        .readTimeout(config.getSocketTimeout())
+                        .writeTimeout(config.getSocketTimeout())
+                        .tcpKeepAlive(true))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(backend.isPathStyleAccess())
+                        .build());
+        if (key.endpoint() != null) {
+            builder.endpointOverride(URI.create(key.endpoint()));
+        }
+        return builder.build();
+    }
+
+    private AwsCredentialsProvider credentials(TransferStorageProperties.Backend backend) {
+        if (hasText(backend.getAccessKey()) && hasText(backend.getSecretKey())) {
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(backend.getAccessKey(), backend.getSecretKey()));
+        }
+        return DefaultCredentialsProvider.create();
+    }
+
+    private TransferStorageProperties.Backend backendFor(StorageType type) {
+        return type == StorageType.MINIO ? properties.getMinio() : properties.getS3();
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private record ClientKey(StorageType type, String endpoint, String region, String accessKey) {
+    }
+
+    public static final class Lease<C> implements AutoCloseable {
+        private final Entry<C> entry;
+
+        private Lease(Entry<C> entry) {
+            this.entry = entry;
+        }
+
+        public C client() {
+            return entry.client;
+        }
+
+        @Override
+        public void close() {
+            entry.release();
+        }
+    }
+
+    private static final class Entry<C> {
+        private final C client;
+        private final AtomicInteger leases = new AtomicInteger();
+        private volatile long lastUsed = System.nanoTime();
+        private boolean evicted;
+
+        private Entry(C client) {
+            this.client = client;
+        }
+
+        private synchronized boolean retain() {
+            if (evicted) {
+                return false;
+            }
+            leases.incrementAndGet();
+            lastUsed = System.nanoTime();
+            return true;
+        }
+
+        private void release() {
+            lastUsed = System.nanoTime();
+            leases.decrementAndGet();
+        }
+
+        private synchronized boolean evictIfIdle(long idleBefore) {
+            if (leases.get() > 0 || lastUsed - idleBefore > 0) {
+                return false;
+            }
+            evicted = true;
+            return true;
+        }
+    }
+
+    private static final class Pool<C extends SdkAutoCloseable> {
+        private final Map<ClientKey, Entry<C>> entries = new ConcurrentHashMap<>();
+        private final Function<ClientKey, C> factory;
+
+        private Pool(Function<ClientKey, C> factory) {
+            this.factory = factory;
+        }
+
+        private Lease<C> lease(ClientKey key) {
+            while (true) {
+                Entry<C> entry = entries.computeIfAbsent(key, ignored -> new Entry<>(factory.apply(key)));
+                if (entry.retain()) {
+                    return new Lease<>(entry);
+                }
+                entries.remove(key, entry);
+            }
+        }
+
+        private void evictIdle(long idleBefore) {
+            entries.forEach((key, entry) -> {
+                if (entry.evictIfIdle(idleBefore) && entries.remove(key, entry)) {
+                    entry.client.close();
+                }
+            });
+        }
+
+        private void closeAll() {
+            entries.values().forEach(entry -> entry.client.close());
+            entries.clear();
+        }
+    }
+}
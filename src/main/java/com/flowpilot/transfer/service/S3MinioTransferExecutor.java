@@ -1,275 +1,937 @@
 package com.flowpilot.transfer.service;
 
+import com.flowpilot.transfer.domain.AttemptStatus;
 import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.JobKind;
+import com.flowpilot.transfer.domain.MultipartCheckpoint;
 import com.flowpilot.transfer.domain.StorageEndpoint;
 import com.flowpilot.transfer.domain.StorageType;
 import com.flowpilot.transfer.domain.TransferJob;
-import jakarta.annotation.PreDestroy;
+import com.flowpilot.transfer.domain.TransferObjectResult;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.S3ClientBuilder;
-import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
 import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.Part;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyResponse;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 import java.io.IOException;
-import java.net.URI;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.StreamSupport;
 
 @Component
 @ConditionalOnProperty(name = "transfer.executor.mode", havingValue = "s3-minio")
 public class S3MinioTransferExecutor implements TransferExecutor {
     private static final long MIN_MULTIPART_SIZE_BYTES = 5L * 1024 * 1024;
+    private static final long MAX_COPY_SIZE_BYTES = 5L * 1024 * 1024 * 1024;
+    private static final int LOCAL_LIST_PAGE_SIZE = 1000;
 
-    private final S3Client s3Client;
-    private final S3Client minioClient;
+    private final S3ClientRegistry clientRegistry;
+    private final PartScheduler partScheduler;
+    private final MultipartCheckpointService checkpointService;
+    private final ChunkPlanTuner chunkPlanTuner;
+    private final TransferMetrics metrics;
+    private final TransferProgressRegistry progressRegistry;
+    private final TransferObjectResultService objectResultService;
+    private final BandwidthLimiter bandwidthLimiter;
+    private final PartBufferPool bufferPool;
+    private final PartRetryPolicy retryPolicy;
+    private final LocalStorage localStorage;
+    private final boolean serverSideCopy;
+    private final int maxPendingObjects;
 
-    public S3MinioTransferExecutor(TransferStorageProperties properties) {
-        this.s3Client = buildClient(properties.getS3());
-        this.minioClient = buildClient(properties.getMinio());
+    public S3MinioTransferExecutor(
+            TransferStorageProperties properties,
+            S3ClientRegistry clientRegistry,
+            PartScheduler partScheduler,
+            MultipartCheckpointService checkpointService,
+            ChunkPlanTuner chunkPlanTuner,
+            TransferMetrics metrics,
+            TransferProgressRegistry progressRegistry,
+            TransferObjectResultService objectResultService,
+            BandwidthLimiter bandwidthLimiter,
+            PartBufferPool bufferPool,
+            PartRetryPolicy retryPolicy,
+            LocalStorage localStorage
+    ) {
+        this.clientRegistry = clientRegistry;
+        this.partScheduler = partScheduler;
+        this.checkpointService = checkpointService;
+        this.chunkPlanTuner = chunkPlanTuner;
+        this.metrics = metrics;
+        this.progressRegistry = progressRegistry;
+        this.objectResultService = objectResultService;
+        this.bandwidthLimiter = bandwidthLimiter;
+        this.bufferPool = bufferPool;
+        this.retryPolicy = retryPolicy;
+        this.localStorage = localStorage;
+        this.serverSideCopy = properties.getExecutor().isServerSideCopy();
+        this.maxPendingObjects = Math.max(properties.getPrefix().getMaxPendingObjects(), 1);
     }
 
     @Override
-    public TransferExecutionResult execute(TransferJob job, ExecutionOptions options) {
+    public TransferExecutionResult execute(TransferJob job, ExecutionOptions options, CancellationToken cancellation) {
         if (options.simulateFailure()) {
             String reason = options.failureReason() == null || options.failureReason().isBlank()
                     ? "Simulated transfer failure"
                     : options.failureReason();
             return TransferExecutionResult.failure(0, reason);
         }
+        PartRetryPolicy.JobRetries retries = retryPolicy.forJob();
+        try (BandwidthLimiter.JobThrottle throttle = bandwidthLimiter.open(job);
+             S3ClientRegistry.Lease<S3Client> sourceClient = lease(job.getSource());
+             S3ClientRegistry.Lease<S3Client> destinationClient = lease(job.getDestination())) {
+            TransferExecutionResult result = job.getKind() == JobKind.PREFIX
+                    ? executePrefix(job, throttle, retries, cancellation, client(sourceClient), client(destinationClient))
+                    : executeObject(job, throttle, retries, cancellation, client(sourceClient), client(destinationClient));
+            return result.withPartRetries(retries.used());
+        } catch (RuntimeException ex) {
+            TransferExecutionResult result = cancellation.isCancelled()
+                    ? TransferExecutionResult.cancelled(0)
+                    : TransferExecutionResult.failure(0, "Transfer failed: " + ex.getMessage());
+            return result.withPartRetries(retries.used());
+        }
+    }
 
+    private TransferExecutionResult executeObject(
+            TransferJob job,
+            BandwidthLimiter.JobThrottle throttle,
+            PartRetryPolicy.JobRetries retries,
+            CancellationToken cancellation,
+            S3Client sourceClient,
+            S3Client destinationClient
+    ) {
         StorageEndpoint source = job.getSource();
         StorageEndpoint destination = job.getDestination();
-        String sourceKey = objectKey(source, job.getObjectKey());
-        String destinationKey = objectKey(destination, job.getObjectKey());
-        S3Client sourceClient = clientFor(source.getType());
-        S3Client destinationClient = clientFor(destination.getType());
+        Route route = route(
+                source,
+                sourceClient,
+                objectKey(source, job.getObjectKey()),
+                destination,
+                destinationClient,
+                objectKey(destination, job.getObjectKey()),
+                throttle,
+                retries,
+                cancellation
+        );
 
         Instant start = Instant.now();
         try {
-            HeadObjectResponse head = sourceClient.headObject(
-                    HeadObjectRequest.builder().bucket(source.getBucket()).key(sourceKey).build()
-            );
-            long objectSizeBytes = head.contentLength();
-            long partSizeBytes = resolvePartSize(job.getChunkPlan());
-            int parallelStreams = resolveParallelStreams(job.getChunkPlan());
-
-            if (objectSizeBytes <= partSizeBytes) {
-                transferSinglePart(sourceClient, destinationClient, source.getBucket(), destination.getBucket(), sourceKey, destinationKey, objectSizeBytes);
-            } else {
-                transferMultipart(
-                        sourceClient,
-                        destinationClient,
-                        source.getBucket(),
-                        destination.getBucket(),
-                        sourceKey,
-                        destinationKey,
-                        objectSizeBytes,
-                        partSizeBytes,
-                        parallelStreams
-                );
+            SourceObject head = headSource(route);
+            long objectSizeBytes = head.sizeBytes();
+            progressRegistry.updateTotal(job.getId(), objectSizeBytes);
+            if (job.isIncremental() && unchanged(route, objectSizeBytes, head.eTag())) {
+                checkpointService.find(job.getId()).ifPresent(snapshot -> {
+                    MultipartCheckpoint checkpoint = snapshot.checkpoint();
+                    abortQuietly(route, checkpoint.getBucket(), checkpoint.getObjectKey(), checkpoint.getUploadId());
+                    checkpointService.clear(job.getId());
+                });
+                progressRegistry.addBytes(job.getId(), objectSizeBytes);
+                metrics.recordSkipped(source, destination, objectSizeBytes);
+                return TransferExecutionResult.skipped();
             }
+            ChunkPlan plan = chunkPlanTuner.resolve(job, objectSizeBytes);
+            long partSizeBytes = resolvePartSize(plan);
+            int parallelStreams = resolveParallelStreams(plan);
+            PartScheduler.JobParts parts = partScheduler.forJob(parallelStreams, endpointKey(source), endpointKey(destination));
+            AdaptiveParallelism adaptive = plan != null && plan.isAutoTune()
+                    ? new AdaptiveParallelism(parts, chunkPlanTuner.maxParallelStreams())
+                    : null;
+
+            transferObject(job, parts, adaptive, route, objectSizeBytes, head.eTag(), partSizeBytes, true);
 
             double throughputMbps = throughput(objectSizeBytes, Duration.between(start, Instant.now()));
-            return TransferExecutionResult.success(throughputMbps);
-        } catch (S3Exception | IOException ex) {
+            return TransferExecutionResult.success(throughputMbps)
+                    .withPlan((int) (partSizeBytes / (1024L * 1024L)), parts.parallelism(), objectSizeBytes);
+        } catch (S3Exception ex) {
+            if (cancellation.isCancelled()) {
+                return TransferExecutionResult.cancelled(0);
+            }
+            return TransferExecutionResult.failure(0, "Transfer failed: " + ex.getMessage());
+        } catch (IOException ex) {
             return TransferExecutionResult.failure(0, "Transfer failed: " + ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return TransferExecutionResult.failure(0, "Transfer interrupted");
+        }
+    }
+
+    private TransferExecutionResult executePrefix(
+            TransferJob job,
+            BandwidthLimiter.JobThrottle throttle,
+            PartRetryPolicy.JobRetries retries,
+            CancellationToken cancellation,
+            S3Client sourceClient,
+            S3Client destinationClient
+    ) {
+        UUID jobId = job.getId();
+        StorageEndpoint source = job.getSource();
+        StorageEndpoint destination = job.getDestination();
+        String listPrefix = ObjectKeys.hasText(source.getPrefix()) ? ObjectKeys.trimSlash(source.getPrefix()) + "/" : "";
+
+        ChunkPlan plan = null;
+        long partSizeBytes = 0;
+        PartScheduler.JobParts parts = null;
+        Semaphore lookAhead = new Semaphore(maxPendingObjects);
+        int attemptNumber = job.getAttemptCount() + 1;
+        objectResultService.begin(jobId);
+        TransferObjectResultService.Writer results = objectResultService.writer(jobId, attemptNumber);
+        AtomicLong listedBytes = new AtomicLong();
+        AtomicLong transferredBytes = new AtomicLong();
+        AtomicLong transferredObjects = new AtomicLong();
+        AtomicLong skippedObjects = new AtomicLong();
+        AtomicLong failedObjects = new AtomicLong();
+        AtomicReference<String> firstFailure = new AtomicReference<>();
+        long listedObjects = 0;
+
+        Instant start = Instant.now();
+        try (ExecutorService objects = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transfer-object-", 0).factory())) {
+            boolean localDestination = destination.getType() == StorageType.LOCAL;
+            DestinationIndex destinationIndex = job.isIncremental() && !localDestination
+                    ? new DestinationIndex(destinationClient, destination.getBucket(), objectKey(destination, ""))
+                    : null;
+            for (List<S3Object> page : listSource(sourceClient, source, listPrefix)) {
+                cancellation.throwIfCancelled();
+                List<S3Object> contents = page.stream()
+                        .filter(object -> !object.key().endsWith("/"))
+                        .toList();
+                if (contents.isEmpty()) {
+                    continue;
+                }
+                if (parts == null) {
+                    long meanSizeBytes = contents.stream().mapToLong(S3Object::size).sum() / contents.size();
+                    plan = chunkPlanTuner.resolve(job, meanSizeBytes);
+                    partSizeBytes = resolvePartSize(plan);
+                    parts = partScheduler.forJob(resolveParallelStreams(plan), endpointKey(source), endpointKey(destination));
+                }
+                PartScheduler.JobParts pageParts = parts;
+                long pagePartSizeBytes = partSizeBytes;
+                Map<String, TransferObjectResult> previous = objectResultService.find(jobId, contents.stream().map(S3Object::key).toList());
+                listedObjects += contents.size();
+                results.listed(contents.size());
+                progressRegistry.updateTotal(jobId, listedBytes.addAndGet(contents.stream().mapToLong(S3Object::size).sum()));
+
+                for (S3Object object : contents) {
+                    TransferObjectResult existing = previous.get(object.key());
+                    if (existing != null && existing.getStatus() != AttemptStatus.FAILED) {
+                        progressRegistry.addBytes(jobId, object.size());
+                        continue;
+                    }
+                    String destinationKey = objectKey(destination, object.key().substring(listPrefix.length()));
+                    S3Object current = destinationIndex == null ? null : destinationIndex.find(destinationKey);
+                    if (current != null && ObjectFingerprint.listingMatches(object.size(), object.eTag(), current.size(), current.eTag())) {
+                        skippedObjects.incrementAndGet();
+                        results.skipped(existing, object.key(), object.size());
+                        progressRegistry.addBytes(jobId, object.size());
+                        metrics.recordSkipped(source, destination, object.size());
+                        continue;
+                    }
+                    boolean verify = localDestination
+                            ? job.isIncremental()
+                            : current != null && current.size().equals(object.size());
+                    lookAhead.acquire();
+                    cancellation.throwIfCancelled();
+                    objects.submit(() -> {
+                        try {
+                            if (cancellation.isCancelled()) {
+                                return;
+                            }
+                            Route route = route(
+                                    source,
+                                    sourceClient,
+                                    object.key(),
+                                    destination,
+                                    destinationClient,
+                                    destinationKey,
+                                    throttle,
+                                    retries,
+                                    cancellation
+                            );
+                            if (verify && unchanged(route, object.size(), object.eTag())) {
+                                skippedObjects.incrementAndGet();
+                                results.skipped(existing, object.key(), object.size());
+                                progressRegistry.addBytes(jobId, object.size());
+                                metrics.recordSkipped(source, destination, object.size());
+                                return;
+                            }
+                            transferObject(job, pageParts.forObject(), null, route, object.size(), object.eTag(), pagePartSizeBytes, false);
+                            transferredBytes.addAndGet(object.size());
+                            transferredObjects.incrementAndGet();
+                            results.succeeded(existing, object.key(), object.size());
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            failedObjects.incrementAndGet();
+                            results.failed(existing, object.key(), object.size(), "Transfer interrupted");
+                        } catch (IOException | RuntimeException ex) {
+                            failedObjects.incrementAndGet();
+                            firstFailure.compareAndSet(null, object.key() + ": " + ex.getMessage());
+                            results.failed(existing, object.key(), object.size(), ex.getMessage());
+                        } finally {
+                            lookAhead.release();
+                        }
+                    });
+                }
+            }
+        } catch (TransferCancelledException ex) {
+            results.flush();
+            return TransferExecutionResult.cancelled(throughput(transferredBytes.get(), Duration.between(start, Instant.now())));
+        } catch (S3Exception | UncheckedIOException ex) {
+            results.flush();
+            return TransferExecutionResult.failure(0, "Listing failed: " + ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            results.flush();
+            return TransferExecutionResult.failure(0, "Transfer interrupted");
+        }
+        results.flush();
+
+        double throughputMbps = throughput(transferredBytes.get(), Duration.between(start, Instant.now()));
+        if (cancellation.isCancelled()) {
+            return TransferExecutionResult.cancelled(throughputMbps);
+        }
+        if (failedObjects.get() > 0) {
+            return TransferExecutionResult.failure(throughputMbps,
+                    failedObjects.get() + " of " + listedObjects + " objects failed, first: " + firstFailure.get());
+        }
+        if (transferredObjects.get() == 0 && skippedObjects.get() > 0) {
+            return TransferExecutionResult.skipped();
+        }
+        TransferExecutionResult result = TransferExecutionResult.success(throughputMbps);
+        if (parts == null || transferredObjects.get() == 0) {
+            return result;
         }
+        return result.withPlan((int) (partSizeBytes / (1024L * 1024L)), parts.parallelism(), transferredBytes.get() / transferredObjects.get());
     }
 
-    @PreDestroy
-    public void close() {
-        s3Client.close();
-        minioClient.close();
+    private void transferObject(
+            TransferJob job,
+            PartScheduler.JobParts parts,
+            AdaptiveParallelism adaptive,
+            Route route,
+            long objectSizeBytes,
+            String sourceETag,
+            long partSizeBytes,
+            boolean resumable
+    ) throws IOException, InterruptedException {
+        if (route.destinationPath() != null) {
+            writeLocal(job, parts, adaptive, route, objectSizeBytes, sourceETag, partSizeBytes);
+        } else if (serverSideCopy && route.source().getType() == route.destination().getType()) {
+            long copyPartSizeBytes = Math.min(partSizeBytes, MAX_COPY_SIZE_BYTES);
+            if (objectSizeBytes <= copyPartSizeBytes) {
+                awaitPart(route, parts.submit(() -> retrying(route, route.destination(), adaptive, () -> {
+                    copySinglePart(route, objectSizeBytes, sourceETag);
+                    return null;
+                })));
+                progressRegistry.addBytes(job.getId(), objectSizeBytes);
+            } else {
+                PartTransfer copyTransfer = (copyRoute, uploadId, partNumber, startByte, endByte, contentLength) ->
+                        copyPart(copyRoute, sourceETag, uploadId, partNumber, startByte, endByte, contentLength);
+                transferMultipart(job, parts, adaptive, route, objectSizeBytes, sourceETag, copyPartSizeBytes, copyTransfer, resumable);
+            }
+        } else if (objectSizeBytes <= partSizeBytes) {
+            awaitPart(route, parts.submit(() -> retrying(route, route.source(), adaptive, () -> {
+                transferSinglePart(route, objectSizeBytes, sourceETag);
+                return null;
+            })));
+            progressRegistry.addBytes(job.getId(), objectSizeBytes);
+        } else {
+            PartTransfer partTransfer = route.sourcePath() != null ? this::uploadLocalPart : this::uploadPart;
+            transferMultipart(job, parts, adaptive, route, objectSizeBytes, sourceETag, partSizeBytes, partTransfer, resumable);
+        }
     }
 
-    private void transferSinglePart(
-            S3Client sourceClient,
-            S3Client destinationClient,
-            String sourceBucket,
-            String destinationBucket,
-            String sourceKey,
-            String destinationKey,
-            long objectSizeBytes
-    ) throws IOException {
-        try (ResponseInputStream<GetObjectResponse> stream = sourceClient.getObject(
-                GetObjectRequest.builder().bucket(sourceBucket).key(sourceKey).build())) {
-            destinationClient.putObject(
-                    PutObjectRequest.builder().bucket(destinationBucket).key(destinationKey).build(),
-                    RequestBody.fromInputStream(stream, objectSizeBytes)
-            );
+    private void transferSinglePart(Route route, long objectSizeBytes, String sourceETag) throws IOException, InterruptedException {
+        route.cancellation().throwIfCancelled();
+        if (route.sourcePath() != null) {
+            RequestBody body = localStorage.region(route.sourcePath(), 0, objectSizeBytes, route.throttle());
+            timed("put", route.destination(), () -> route.destinationClient().putObject(
+                    PutObjectRequest.builder()
+                            .bucket(route.destinationBucket())
+                            .key(route.destinationKey())
+                            .metadata(ObjectFingerprint.stamp(sourceETag))
+                            .build(),
+                    body
+            ));
+            metrics.recordBytes(route.source(), route.destination(), "mapped", objectSizeBytes);
+            return;
+        }
+        try (PartBufferPool.PartBuffer buffer = bufferPool.acquire(objectSizeBytes)) {
+            try (ResponseInputStream<GetObjectResponse> stream = timed("get", route.source(), () -> route.sourceClient().getObject(
+                    GetObjectRequest.builder().bucket(route.sourceBucket()).key(route.sourceKey()).build()));
+                 CancellationToken.Registration ignored = route.cancellation().onCancel(stream::abort)) {
+                fill(route, buffer, stream, objectSizeBytes);
+            }
+            timed("put", route.destination(), () -> route.destinationClient().putObject(
+                    PutObjectRequest.builder()
+                            .bucket(route.destinationBucket())
+                            .key(route.destinationKey())
+                            .metadata(ObjectFingerprint.stamp(sourceETag))
+                            .build(),
+                    buffer.requestBody()
+            ));
+        }
+        metrics.recordBytes(route.source(), route.destination(), "stream", objectSizeBytes);
+    }
+
+    private void fill(Route route, PartBufferPool.PartBuffer buffer, ResponseInputStream<GetObjectResponse> stream, long length)
+            throws IOException {
+        try (PartRetryPolicy.Watch watch = retryPolicy.watch(route.retries(), length, stream::abort)) {
+            try {
+                buffer.fill(route.throttle().wrap(stream));
+            } catch (IOException | RuntimeException ex) {
+                if (watch.tripped()) {
+                    throw new PartStragglerException("Part read of " + length + " bytes exceeded the straggler deadline", ex);
+                }
+                throw ex;
+            }
+            watch.completed();
         }
     }
 
+    private void copySinglePart(Route route, long objectSizeBytes, String sourceETag) {
+        HeadObjectResponse head = timed("head", route.source(), () -> route.sourceClient().headObject(
+                HeadObjectRequest.builder().bucket(route.sourceBucket()).key(route.sourceKey()).ifMatch(sourceETag).build()
+        ));
+        Map<String, String> metadata = new HashMap<>(head.metadata());
+        metadata.putAll(ObjectFingerprint.stamp(sourceETag));
+        timed("copy", route.destination(), () -> route.destinationClient().copyObject(CopyObjectRequest.builder()
+                .sourceBucket(route.sourceBucket())
+                .sourceKey(route.sourceKey())
+                .copySourceIfMatch(sourceETag)
+                .destinationBucket(route.destinationBucket())
+                .destinationKey(route.destinationKey())
+                .metadataDirective(MetadataDirective.REPLACE)
+                .metadata(metadata)
+                .contentType(head.contentType())
+                .contentEncoding(head.contentEncoding())
+                .contentDisposition(head.contentDisposition())
+                .contentLanguage(head.contentLanguage())
+                .cacheControl(head.cacheControl())
+                .build()));
+        metrics.recordBytes(route.source(), route.destination(), "copy", objectSizeBytes);
+    }
+
     private void transferMultipart(
-            S3Client sourceClient,
-            S3Client destinationClient,
-            String sourceBucket,
-            String destinationBucket,
-            String sourceKey,
-            String destinationKey,
+            TransferJob job,
+            PartScheduler.JobParts parts,
+            AdaptiveParallelism adaptive,
+            Route route,
             long objectSizeBytes,
+            String sourceETag,
             long partSizeBytes,
-            int parallelStreams
+            PartTransfer partTransfer,
+            boolean resumable
     ) {
-        CreateMultipartUploadResponse multipart = destinationClient.createMultipartUpload(
-                CreateMultipartUploadRequest.builder()
-                        .bucket(destinationBucket)
-                        .key(destinationKey)
-                        .build()
-        );
-        String uploadId = multipart.uploadId();
-        ExecutorService executor = Executors.newFixedThreadPool(parallelStreams);
+        UUID jobId = job.getId();
+        boolean finalAttempt = job.getAttemptCount() >= job.getMaxRetries();
+        ResumableUpload upload = resumable
+                ? openUpload(jobId, route, objectSizeBytes, sourceETag, partSizeBytes)
+                : new ResumableUpload(createUpload(route, sourceETag), partSizeBytes, Map.of());
+        String uploadId = upload.uploadId();
+        long uploadPartSize = upload.partSizeBytes();
+        int totalParts = (int) ((objectSizeBytes + uploadPartSize - 1) / uploadPartSize);
+        MultipartCheckpointService.Writer checkpoint = resumable ? checkpointService.writer(jobId) : null;
+        List<CompletedPart> completedParts = new ArrayList<>(upload.completedParts().values());
+        List<Future<CompletedPart>> futures = new ArrayList<>(totalParts - completedParts.size());
 
         try {
-            int totalParts = (int) ((objectSizeBytes + partSizeBytes - 1) / partSizeBytes);
-            List<Future<CompletedPart>> futures = new ArrayList<>(totalParts);
-            for (int partNumber = 1; partNumber <= totalParts; partNumber++) {
-                long startByte = (long) (partNumber - 1) * partSizeBytes;
-                long endByte = Math.min(objectSizeBytes - 1, startByte + partSizeBytes - 1);
+            for (int partNumber = 1; partNumber <= totalParts && !parts.hasFailed() && !route.cancellation().isCancelled(); partNumber++) {
+                int number = partNumber;
+                long startByte = (long) (partNumber - 1) * uploadPartSize;
+                long endByte = Math.min(objectSizeBytes - 1, startByte + uploadPartSize - 1);
                 long length = endByte - startByte + 1;
+                if (upload.completedParts().containsKey(partNumber)) {
+                    progressRegistry.addBytes(jobId, length);
+                    continue;
+                }
 
-                futures.add(executor.submit(uploadPartTask(
-                        sourceClient,
-                        destinationClient,
-                        sourceBucket,
-                        destinationBucket,
-                        sourceKey,
-                        destinationKey,
-                        uploadId,
-                        partNumber,
-                        startByte,
-                        endByte,
-                        length
-                )));
+                futures.add(parts.submit(() -> {
+                    CompletedPart part = retrying(route, route.source(), adaptive,
+                            () -> partTransfer.transfer(route, uploadId, number, startByte, endByte, length));
+                    if (checkpoint != null) {
+                        checkpoint.record(number, part.eTag(), length);
+                    }
+                    progressRegistry.addBytes(jobId, length);
+                    if (adaptive != null) {
+                        adaptive.onPartCompleted(length);
+                    }
+                    return part;
+                }));
             }
 
-            List<CompletedPart> completedParts = new ArrayList<>(totalParts);
             for (Future<CompletedPart> future : futures) {
-                try {
-                    completedParts.add(future.get());
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Transfer interrupted", e);
-                } catch (ExecutionException e) {
-                    throw new RuntimeException("Multipart part upload failed", e.getCause());
-                }
+                completedParts.add(awaitPart(route, future));
+            }
+            route.cancellation().throwIfCancelled();
+            if (completedParts.size() != totalParts) {
+                throw new IllegalStateException("Upload " + uploadId + " has " + completedParts.size() + " of " + totalParts + " parts");
             }
-            completedParts.sort(Comparator.comparingInt(CompletedPart::partNumber));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandonUpload(jobId, route, uploadId, futures, checkpoint, finalAttempt);
+            throw new RuntimeException("Transfer interrupted", e);
+        } catch (RuntimeException ex) {
+            abandonUpload(jobId, route, uploadId, futures, checkpoint, finalAttempt || route.cancellation().isCancelled());
+            throw ex;
+        }
 
-            destinationClient.completeMultipartUpload(
+        completedParts.sort(Comparator.comparingInt(CompletedPart::partNumber));
+        try {
+            route.destinationClient().completeMultipartUpload(
                     CompleteMultipartUploadRequest.builder()
-                            .bucket(destinationBucket)
-                            .key(destinationKey)
+                            .bucket(route.destinationBucket())
+                            .key(route.destinationKey())
                             .uploadId(uploadId)
                             .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
                             .build()
             );
         } catch (RuntimeException ex) {
-            destinationClient.abortMultipartUpload(
-                    AbortMultipartUploadRequest.builder()
-                            .bucket(destinationBucket)
-                            .key(destinationKey)
-                            .uploadId(uploadId)
-                            .build()
-            );
+            abortMultipartUpload(route, uploadId);
+            if (resumable) {
+                checkpointService.clear(jobId);
+            }
             throw ex;
-        } finally {
-            executor.shutdownNow();
+        }
+        if (resumable) {
+            checkpointService.clear(jobId);
         }
     }
 
-    private Callable<CompletedPart> uploadPartTask(
-            S3Client sourceClient,
-            S3Client destinationClient,
-            String sourceBucket,
-            String destinationBucket,
-            String sourceKey,
-            String destinationKey,
+    private ResumableUpload openUpload(UUID jobId, Route route, long objectSizeBytes, String sourceETag, long partSizeBytes) {
+        MultipartCheckpointService.Snapshot snapshot = checkpointService.find(jobId).orElse(null);
+        if (snapshot != null) {
+            MultipartCheckpoint checkpoint = snapshot.checkpoint();
+            boolean sameTarget = checkpoint.getBucket().equals(route.destinationBucket())
+                    && checkpoint.getObjectKey().equals(route.destinationKey())
+                    && checkpoint.getObjectSizeBytes() == objectSizeBytes
+                    && Objects.equals(checkpoint.getSourceETag(), sourceETag);
+            Map<Integer, CompletedPart> uploaded = sameTarget ? listUploadedParts(route, checkpoint, snapshot.partETags()) : null;
+            if (uploaded != null) {
+                return new ResumableUpload(checkpoint.getUploadId(), checkpoint.getPartSizeBytes(), uploaded);
+            }
+            abortQuietly(route, checkpoint.getBucket(), checkpoint.getObjectKey(), checkpoint.getUploadId());
+        }
+
+        String uploadId = createUpload(route, sourceETag);
+        checkpointService.open(
+                jobId,
+                uploadId,
+                route.destinationBucket(),
+                route.destinationKey(),
+                sourceETag,
+                objectSizeBytes,
+                partSizeBytes
+        );
+        return new ResumableUpload(uploadId, partSizeBytes, Map.of());
+    }
+
+    private String createUpload(Route route, String sourceETag) {
+        CreateMultipartUploadResponse multipart = route.destinationClient().createMultipartUpload(
+                CreateMultipartUploadRequest.builder()
+                        .bucket(route.destinationBucket())
+                        .key(route.destinationKey())
+                        .metadata(ObjectFingerprint.stamp(sourceETag))
+                        .build()
+        );
+        return multipart.uploadId();
+    }
+
+    private Map<Integer, CompletedPart> listUploadedParts(Route route, MultipartCheckpoint checkpoint, Map<Integer, String> recordedETags) {
+        Map<Integer, CompletedPart> uploaded = new HashMap<>();
+        try {
+            for (Part part : route.destinationClient().listPartsPaginator(ListPartsRequest.builder()
+                    .bucket(checkpoint.getBucket())
+                    .key(checkpoint.getObjectKey())
+                    .uploadId(checkpoint.getUploadId())
+                    .build()).parts()) {
+                long expectedSize = Math.min(
+                        checkpoint.getPartSizeBytes(),
+                        checkpoint.getObjectSizeBytes() - (long) (part.partNumber() - 1) * checkpoint.getPartSizeBytes()
+                );
+                String recorded = recordedETags.get(part.partNumber());
+                if (part.size() == expectedSize && (recorded == null || recorded.equals(part.eTag()))) {
+                    uploaded.put(part.partNumber(), CompletedPart.builder()
+                            .partNumber(part.partNumber())
+                            .eTag(part.eTag())
+                            .build());
+                }
+            }
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return null;
+            }
+            throw ex;
+        }
+        return uploaded;
+    }
+
+    private void abandonUpload(
+            UUID jobId,
+            Route route,
+            String uploadId,
+            List<Future<CompletedPart>> futures,
+            MultipartCheckpointService.Writer checkpoint,
+            boolean finalAttempt
+    ) {
+        futures.forEach(future -> future.cancel(true));
+        if (checkpoint == null) {
+            abortMultipartUpload(route, uploadId);
+        } else if (finalAttempt) {
+            abortMultipartUpload(route, uploadId);
+            checkpointService.clear(jobId);
+        } else {
+            checkpoint.flush();
+        }
+    }
+
+    private void abortMultipartUpload(Route route, String uploadId) {
+        metrics.recordAbort(route.destination());
+        route.destinationClient().abortMultipartUpload(
+                AbortMultipartUploadRequest.builder()
+                        .bucket(route.destinationBucket())
+                        .key(route.destinationKey())
+                        .uploadId(uploadId)
+                        .build()
+        );
+    }
+
+    private void abortQuietly(Route route, String bucket, String key, String uploadId) {
+        metrics.recordAbort(route.destination());
+        try {
+            route.destinationClient().abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (S3Exception ignored) {
+            // the upload is already gone or was never completed
+        }
+    }
+
+    private boolean unchanged(Route route, long objectSizeBytes, String sourceETag) {
+        if (route.destinationPath() != null) {
+            return localStorage.matches(route.destinationPath(), objectSizeBytes, sourceETag);
+        }
+        try {
+            HeadObjectResponse existing = timed("head", route.destination(), () -> route.destinationClient().headObject(
+                    HeadObjectRequest.builder().bucket(route.destinationBucket()).key(route.destinationKey()).build()
+            ));
+            return ObjectFingerprint.matches(objectSizeBytes, sourceETag, existing.contentLength(), existing.eTag(), existing.metadata());
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    private <T> T retrying(Route route, StorageEndpoint endpoint, AdaptiveParallelism adaptive, PartRetryPolicy.PartCall<T> part)
+            throws Exception {
+        return retryPolicy.call(route.retries(), route.cancellation(), endpoint, reason -> {
+            if (adaptive != null) {
+                adaptive.onPartRetried(reason);
+            }
+        }, part);
+    }
+
+    private <T> T awaitPart(Route route, Future<T> future) {
+        try (CancellationToken.Registration ignored = route.cancellation().onCancel(() -> future.cancel(true))) {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Transfer interrupted", e);
+        } catch (CancellationException e) {
+            throw new TransferCancelledException("Transfer cancelled: " + route.cancellation().jobId());
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Part transfer failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private CompletedPart uploadPart(
+            Route route,
             String uploadId,
             int partNumber,
             long startByte,
             long endByte,
             long contentLength
-    ) {
-        return () -> {
-            String range = "bytes=" + startByte + "-" + endByte;
-            try (ResponseInputStream<GetObjectResponse> stream = sourceClient.getObject(
+    ) throws IOException, InterruptedException {
+        route.cancellation().throwIfCancelled();
+        String range = "bytes=" + startByte + "-" + endByte;
+        try (PartBufferPool.PartBuffer buffer = bufferPool.acquire(contentLength)) {
+            try (ResponseInputStream<GetObjectResponse> stream = timed("get", route.source(), () -> route.sourceClient().getObject(
                     GetObjectRequest.builder()
-                            .bucket(sourceBucket)
-                            .key(sourceKey)
+                            .bucket(route.sourceBucket())
+                            .key(route.sourceKey())
                             .range(range)
                             .build()
-            )) {
-                UploadPartResponse response = destinationClient.uploadPart(
-                        UploadPartRequest.builder()
-                                .bucket(destinationBucket)
-                                .key(destinationKey)
-                                .uploadId(uploadId)
-                                .partNumber(partNumber)
-                                .contentLength(contentLength)
-                                .build(),
-                        RequestBody.fromInputStream(stream, contentLength)
-                );
-                return CompletedPart.builder()
+            ));
+                 CancellationToken.Registration ignored = route.cancellation().onCancel(stream::abort)) {
+                fill(route, buffer, stream, contentLength);
+            }
+            CompletedPart part = putPart(route, uploadId, partNumber, contentLength, buffer.requestBody());
+            metrics.recordBytes(route.source(), route.destination(), "stream", contentLength);
+            return part;
+        }
+    }
+
+    private CompletedPart uploadLocalPart(
+            Route route,
+            String uploadId,
+            int partNumber,
+            long startByte,
+            long endByte,
+            long contentLength
+    ) throws IOException {
+        route.cancellation().throwIfCancelled();
+        RequestBody body = localStorage.region(route.sourcePath(), startByte, contentLength, route.throttle());
+        CompletedPart part = putPart(route, uploadId, partNumber, contentLength, body);
+        metrics.recordBytes(route.source(), route.destination(), "mapped", contentLength);
+        return part;
+    }
+
+    private CompletedPart putPart(Route route, String uploadId, int partNumber, long contentLength, RequestBody body) {
+        UploadPartResponse response = timed("put", route.destination(), () -> route.destinationClient().uploadPart(
+                UploadPartRequest.builder()
+                        .bucket(route.destinationBucket())
+                        .key(route.destinationKey())
+                        .uploadId(uploadId)
                         .partNumber(partNumber)
-                        .eTag(response.eTag())
-                        .build();
+                        .contentLength(contentLength)
+                        .build(),
+                body
+        ));
+        return CompletedPart.builder()
+                .partNumber(partNumber)
+                .eTag(response.eTag())
+                .build();
+    }
+
+    private void writeLocal(
+            TransferJob job,
+            PartScheduler.JobParts parts,
+            AdaptiveParallelism adaptive,
+            Route route,
+            long objectSizeBytes,
+            String sourceETag,
+            long partSizeBytes
+    ) throws IOException, InterruptedException {
+        UUID jobId = job.getId();
+        int totalParts = (int) Math.max((objectSizeBytes + partSizeBytes - 1) / partSizeBytes, 1);
+        List<Future<Void>> futures = new ArrayList<>(totalParts);
+        try (LocalStorage.Target target = localStorage.create(route.destinationPath(), objectSizeBytes, jobId)) {
+            try {
+                for (int partNumber = 1; partNumber <= totalParts && !parts.hasFailed() && !route.cancellation().isCancelled(); partNumber++) {
+                    long startByte = (long) (partNumber - 1) * partSizeBytes;
+                    long length = Math.min(partSizeBytes, objectSizeBytes - startByte);
+                    futures.add(parts.submit(() -> {
+                        retrying(route, route.source(), adaptive, () -> {
+                            writeLocalPart(route, target, startByte, length);
+                            return null;
+                        });
+                        progressRegistry.addBytes(jobId, length);
+                        if (adaptive != null) {
+                            adaptive.onPartCompleted(length);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    awaitPart(route, future);
+                }
+                route.cancellation().throwIfCancelled();
+                if (futures.size() != totalParts) {
+                    throw new IllegalStateException("Wrote " + futures.size() + " of " + totalParts + " parts of " + route.destinationPath());
+                }
+            } catch (InterruptedException | RuntimeException ex) {
+                futures.forEach(future -> future.cancel(true));
+                throw ex;
             }
-        };
+            target.commit(sourceETag);
+        }
     }
 
-    private S3Client buildClient(TransferStorageProperties.Backend config) {
-        S3ClientBuilder builder = S3Client.builder()
-                .region(Region.of(config.getRegion()))
-                .serviceConfiguration(S3Configuration.builder()
-                        .pathStyleAccessEnabled(config.isPathStyleAccess())
-                        .build());
+    private void writeLocalPart(Route route, LocalStorage.Target target, long startByte, long length) throws IOException {
+        route.cancellation().throwIfCancelled();
+        if (length == 0) {
+            return;
+        }
+        if (route.sourcePath() != null) {
+            target.copy(route.sourcePath(), startByte, length, route.throttle(), route.cancellation());
+            metrics.recordBytes(route.source(), route.destination(), "zero-copy", length);
+            return;
+        }
+        String range = "bytes=" + startByte + "-" + (startByte + length - 1);
+        try (ResponseInputStream<GetObjectResponse> stream = timed("get", route.source(), () -> route.sourceClient().getObject(
+                GetObjectRequest.builder()
+                        .bucket(route.sourceBucket())
+                        .key(route.sourceKey())
+                        .range(range)
+                        .build()
+        ));
+             CancellationToken.Registration ignored = route.cancellation().onCancel(stream::abort);
+             PartRetryPolicy.Watch watch = retryPolicy.watch(route.retries(), length, stream::abort)) {
+            try {
+                target.write(route.throttle().wrap(stream), startByte, length);
+            } catch (IOException | RuntimeException ex) {
+                if (watch.tripped()) {
+                    throw new PartStragglerException("Part read of " + length + " bytes exceeded the straggler deadline", ex);
+                }
+                throw ex;
+            }
+            watch.completed();
+        }
+        metrics.recordBytes(route.source(), route.destination(), "stream", length);
+    }
 
-        if (config.getEndpoint() != null && !config.getEndpoint().isBlank()) {
-            builder.endpointOverride(URI.create(config.getEndpoint()));
+    private CompletedPart copyPart(
+            Route route,
+            String sourceETag,
+            String uploadId,
+            int partNumber,
+            long startByte,
+            long endByte,
+            long contentLength
+    ) {
+        UploadPartCopyResponse response = timed("copy", route.destination(), () -> route.destinationClient().uploadPartCopy(
+                UploadPartCopyRequest.builder()
+                        .sourceBucket(route.sourceBucket())
+                        .sourceKey(route.sourceKey())
+                        .copySourceIfMatch(sourceETag)
+                        .copySourceRange("bytes=" + startByte + "-" + endByte)
+                        .destinationBucket(route.destinationBucket())
+                        .destinationKey(route.destinationKey())
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .build()
+        ));
+        metrics.recordBytes(route.source(), route.destination(), "copy", contentLength);
+        return CompletedPart.builder()
+                .partNumber(partNumber)
+                .eTag(response.copyPartResult().eTag())
+                .build();
+    }
+
+    private <T> T timed(String phase, StorageEndpoint endpoint, Supplier<T> request) {
+        long started = System.nanoTime();
+        try {
+            T response = request.get();
+            metrics.recordPart(phase, endpoint, "success", System.nanoTime() - started);
+            return response;
+        } catch (RuntimeException ex) {
+            metrics.recordPart(phase, endpoint, "failure", System.nanoTime() - started);
+            throw ex;
         }
+    }
 
-        if (hasText(config.getAccessKey()) && hasText(config.getSecretKey())) {
-            builder.credentialsProvider(StaticCredentialsProvider.create(
-                    AwsBasicCredentials.create(config.getAccessKey(), config.getSecretKey())
-            ));
-        } else {
-            builder.credentialsProvider(DefaultCredentialsProvider.create());
+    private S3ClientRegistry.Lease<S3Client> lease(StorageEndpoint endpoint) {
+        return endpoint.getType() == StorageType.LOCAL ? null : clientRegistry.lease(endpoint);
+    }
+
+    private S3Client client(S3ClientRegistry.Lease<S3Client> lease) {
+        return lease == null ? null : lease.client();
+    }
+
+    private Route route(
+            StorageEndpoint source,
+            S3Client sourceClient,
+            String sourceKey,
+            StorageEndpoint destination,
+            S3Client destinationClient,
+            String destinationKey,
+            BandwidthLimiter.JobThrottle throttle,
+            PartRetryPolicy.JobRetries retries,
+            CancellationToken cancellation
+    ) {
+        return new Route(
+                source,
+                sourceClient,
+                sourceKey,
+                localPath(source, sourceKey),
+                destination,
+                destinationClient,
+                destinationKey,
+                localPath(destination, destinationKey),
+                throttle,
+                retries,
+                cancellation
+        );
+    }
+
+    private Path localPath(StorageEndpoint endpoint, String key) {
+        return endpoint.getType() == StorageType.LOCAL ? localStorage.resolve(endpoint, key) : null;
+    }
+
+    private SourceObject headSource(Route route) throws IOException {
+        if (route.sourcePath() != null) {
+            LocalStorage.LocalObject file = localStorage.stat(route.sourcePath());
+            return new SourceObject(file.size(), file.fingerprint());
         }
-        return builder.build();
+        HeadObjectResponse head = route.sourceClient().headObject(
+                HeadObjectRequest.builder().bucket(route.sourceBucket()).key(route.sourceKey()).build()
+        );
+        return new SourceObject(head.contentLength(), head.eTag());
     }
 
-    private S3Client clientFor(StorageType type) {
-        return type == StorageType.MINIO ? minioClient : s3Client;
+    private Iterable<List<S3Object>> listSource(S3Client client, StorageEndpoint source, String listPrefix) {
+        if (source.getType() == StorageType.LOCAL) {
+            Iterable<List<LocalStorage.LocalObject>> pages = localStorage.list(source, listPrefix, LOCAL_LIST_PAGE_SIZE);
+            return () -> StreamSupport.stream(pages.spliterator(), false)
+                    .map(page -> page.stream()
+                            .map(file -> S3Object.builder().key(file.key()).size(file.size()).eTag(file.fingerprint()).build())
+                            .toList())
+                    .iterator();
+        }
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(source.getBucket())
+                .prefix(listPrefix)
+                .build();
+        return () -> client.listObjectsV2Paginator(request).stream().map(ListObjectsV2Response::contents).iterator();
+    }
+
+    private String endpointKey(StorageEndpoint endpoint) {
+        return endpoint.getType() + "/" + endpoint.getRegion();
     }
 
     private long resolvePartSize(ChunkPlan chunkPlan) {
@@ -284,22 +946,71 @@ public class S3MinioTransferExecutor implements TransferExecutor {
     }
 
     private String objectKey(StorageEndpoint endpoint, String objectKey) {
-        if (!hasText(endpoint.getPrefix())) {
-            return objectKey;
+        return ObjectKeys.resolve(endpoint, objectKey);
+    }
+
+    private double throughput(long bytes, Duration elapsed) {
+        double seconds = Math.max(elapsed.toMillis() / 1000.0, 0.001);
+        return (bytes * 8.0) / 1_000_000.0 / seconds;
+    }
+
+    private record Route(
+            StorageEndpoint source,
+            S3Client sourceClient,
+            String sourceKey,
+            Path sourcePath,
+            StorageEndpoint destination,
+            S3Client destinationClient,
+            String destinationKey,
+            Path destinationPath,
+            BandwidthLimiter.JobThrottle throttle,
+            PartRetryPolicy.JobRetries retries,
+            CancellationToken cancellation
+    ) {
+        String sourceBucket() {
+            return source.getBucket();
+        }
+
+        String destinationBucket() {
+            return destination.getBucket();
         }
-        return trimSlash(endpoint.getPrefix()) + "/" + trimSlash(objectKey);
     }
 
-    private String trimSlash(String value) {
-        return value.replaceAll("^/+", "").replaceAll("/+$", "");
+    private static final class DestinationIndex {
+        private final Iterator<S3Object> objects;
+        private S3Object current;
+
+        private DestinationIndex(S3Client client, String bucket, String prefix) {
+            this.objects = client.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                    .bucket(bucket)
+                    .prefix(prefix)
+                    .build()).contents().iterator();
+            this.current = objects.hasNext() ? objects.next() : null;
+        }
+
+        private S3Object find(String key) {
+            while (current != null && current.key().compareTo(key) < 0) {
+                current = objects.hasNext() ? objects.next() : null;
+            }
+            return current != null && current.key().equals(key) ? current : null;
+        }
     }
 
-    private boolean hasText(String value) {
-        return value != null && !value.isBlank();
+    @FunctionalInterface
+    private interface PartTransfer {
+        CompletedPart transfer(
+                Route route,
+                String uploadId,
+                int partNumber,
+                long startByte,
+                long endByte,
+                long contentLength
+        ) throws IOException, InterruptedException;
     }
 
-    private double throughput(long bytes, Duration elapsed) {
-        double seconds = Math.max(elapsed.toMillis() / 1000.0, 0.001);
-        return (bytes * 8.0) / 1_000_000.0 / seconds;
+    private record SourceObject(long sizeBytes, String eTag) {
+    }
+
+    private record ResumableUpload(String uploadId, long partSizeBytes, Map<Integer, CompletedPart> completedParts) {
     }
 }
@@ -0,0 +1,7 @@
+package com.flowpilot.transfer.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ScheduledTransfer(UUID jobId, Instant scheduledAt) {
+}
@@ -0,0 +1,42 @@
+package com.flowpilot.transfer.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrations {
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaMigrations(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void widenEnumColumns() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product)) {
+            return;
+        }
+        List<Map<String, Object>> columns = jdbcTemplate.queryForList(
+                "select table_name, column_name from information_schema.columns "
+                        + "where table_schema = current_schema and data_type = 'ENUM' and table_name like 'TRANSFER\\_%'"
+        );
+        for (Map<String, Object> column : columns) {
+            String table = (String) column.get("TABLE_NAME");
+            String name = (String) column.get("COLUMN_NAME");
+            jdbcTemplate.execute("alter table " + table + " alter column " + name + " set data type varchar(255)");
+            log.info("Converted enum column {}.{} to varchar", table, name);
+        }
+    }
+}
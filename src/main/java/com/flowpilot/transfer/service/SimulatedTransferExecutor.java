@@ -1,5 +1,6 @@
 package com.flowpilot.transfer.service;
 
+import com.flowpilot.transfer.domain.ChunkPlan;
 import com.flowpilot.transfer.domain.TransferJob;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
@@ -9,19 +10,33 @@ import org.springframework.stereotype.Component;
 @Primary
 @ConditionalOnProperty(name = "transfer.executor.mode", havingValue = "simulated", matchIfMissing = true)
 public class SimulatedTransferExecutor implements TransferExecutor {
+    private final ChunkPlanTuner chunkPlanTuner;
+
+    public SimulatedTransferExecutor(ChunkPlanTuner chunkPlanTuner) {
+        this.chunkPlanTuner = chunkPlanTuner;
+    }
 
     @Override
-    public TransferExecutionResult execute(TransferJob job, ExecutionOptions options) {
+    public TransferExecutionResult execute(TransferJob job, ExecutionOptions options, CancellationToken cancellation) {
         double throughputMbps = options.throughputMbps() > 0 ? options.throughputMbps() : defaultThroughput(job.getObjectSizeBytes());
+        ChunkPlan plan = chunkPlanTuner.resolve(job, job.getObjectSizeBytes());
+
+        if (cancellation.isCancelled()) {
+            return withPlan(TransferExecutionResult.cancelled(0), plan, job.getObjectSizeBytes());
+        }
 
         if (options.simulateFailure()) {
             String reason = options.failureReason() == null || options.failureReason().isBlank()
                     ? "Simulated network timeout"
                     : options.failureReason();
-            return TransferExecutionResult.failure(throughputMbps, reason);
+            return withPlan(TransferExecutionResult.failure(throughputMbps, reason), plan, job.getObjectSizeBytes());
         }
 
-        return TransferExecutionResult.success(throughputMbps);
+        return withPlan(TransferExecutionResult.success(throughputMbps), plan, job.getObjectSizeBytes());
+    }
+
+    private TransferExecutionResult withPlan(TransferExecutionResult result, ChunkPlan plan, long objectSizeBytes) {
+        return plan == null ? result : result.withPlan(plan.getChunkSizeMb(), plan.getParallelStreams(), objectSizeBytes);
     }
 
     private double defaultThroughput(long objectSizeBytes) {
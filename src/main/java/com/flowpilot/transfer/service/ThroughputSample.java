@@ -0,0 +1,15 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.StorageType;
+
+public record ThroughputSample(
+        StorageType sourceType,
+        String sourceRegion,
+        StorageType destinationType,
+        String destinationRegion,
+        long objectSizeBytes,
+        Integer chunkSizeMb,
+        Integer parallelStreams,
+        double throughputMbps
+) {
+}
@@ -0,0 +1,52 @@
+package com.flowpilot.transfer.service;
+
+import java.util.concurrent.TimeUnit;
+
+final class TokenBucket {
+    private static final double MIN_BURST_BYTES = 64 * 1024;
+
+    private double bytesPerSecond;
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    TokenBucket(double bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.tokens = capacity();
+    }
+
+    synchronized void setRate(double bytesPerSecond) {
+        refill();
+        this.bytesPerSecond = bytesPerSecond;
+        this.tokens = Math.min(tokens, capacity());
+    }
+
+    synchronized double rate() {
+        return bytesPerSecond;
+    }
+
+    long reserve(long bytes) {
+        synchronized (this) {
+            if (bytesPerSecond <= 0) {
+                return 0;
+            }
+            refill();
+            tokens -= bytes;
+            if (tokens >= 0) {
+                return 0;
+            }
+            return (long) (-tokens / bytesPerSecond * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        if (bytesPerSecond > 0) {
+            tokens = Math.min(capacity(), tokens + (now - refilledAt) * bytesPerSecond / TimeUnit.SECONDS.toNanos(1));
+        }
+        refilledAt = now;
+    }
+
+    private double capacity() {
+        return Math.max(bytesPerSecond, MIN_BURST_BYTES);
+    }
+}
@@ -0,0 +1,8 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.TransferAttempt;
+
+import java.util.List;
+
+public record TransferAttemptPage(List<TransferAttempt> items, Integer nextAfterAttempt) {
+}
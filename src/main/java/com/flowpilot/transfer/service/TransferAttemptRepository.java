@@ -0,0 +1,22 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.AttemptStatus;
+import com.flowpilot.transfer.domain.TransferAttempt;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TransferAttemptRepository extends JpaRepository<TransferAttempt, Long> {
+    @Query("select new com.flowpilot.transfer.service.ThroughputSample("
+            + "j.source.type, j.source.region, j.destination.type, j.destination.region, coalesce(a.objectSizeBytes, j.objectSizeBytes), "
+            + "a.chunkSizeMb, a.parallelStreams, a.throughputMbps) "
+            + "from TransferAttempt a join a.job j "
+            + "where a.status = :status and a.chunkSizeMb is not null and a.parallelStreams is not null "
+            + "order by a.finishedAt desc")
+    List<ThroughputSample> findRecentSamples(AttemptStatus status, Limit limit);
+
+    List<TransferAttempt> findByJobIdAndAttemptNumberGreaterThanOrderByAttemptNumberAsc(UUID jobId, int attemptNumber, Limit limit);
+}
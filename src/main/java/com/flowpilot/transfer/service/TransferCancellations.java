@@ -0,0 +1,42 @@
+package com.flowpilot.transfer.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TransferCancellations {
+    private final Map<UUID, CancellationToken> tokens = new ConcurrentHashMap<>();
+
+    public TransferCancellations(TransferMetrics metrics) {
+        metrics.gauge("transfer.cancellation.tokens", "Dispatched jobs that can be cancelled in flight", tokens, Map::size);
+    }
+
+    public CancellationToken register(UUID jobId) {
+        CancellationToken token = new CancellationToken(jobId);
+        if (tokens.putIfAbsent(jobId, token) != null) {
+            throw new InvalidTransferStateException("Job is already being dispatched: " + jobId);
+        }
+        return token;
+    }
+
+    public void unregister(CancellationToken token) {
+        tokens.remove(token.jobId(), token);
+    }
+
+    public boolean cancel(UUID jobId) {
+        CancellationToken token = tokens.get(jobId);
+        if (token == null) {
+            return false;
+        }
+        token.cancel();
+        return true;
+    }
+
+    public Set<UUID> active() {
+        return Set.copyOf(tokens.keySet());
+    }
+}
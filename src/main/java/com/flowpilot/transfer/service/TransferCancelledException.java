@@ -0,0 +1,7 @@
+package com.flowpilot.transfer.service;
+
+public class TransferCancelledException extends RuntimeException {
+    public TransferCancelledException(String message) {
+        super(message);
+    }
+}
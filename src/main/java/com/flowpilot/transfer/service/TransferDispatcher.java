@@ -0,0 +1,87 @@
+package com.flowpilot.transfer.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+@Component
+public class TransferDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(TransferDispatcher.class);
+
+    private final int maxConcurrentJobs;
+    private final int capacity;
+    private final Semaphore slots;
+    private final Semaphore workers;
+    private final ExecutorService executor;
+
+    public TransferDispatcher(TransferStorageProperties properties, TransferMetrics metrics) {
+        TransferStorageProperties.Dispatcher config = properties.getDispatcher();
+        this.maxConcurrentJobs = Math.max(config.getMaxConcurrentJobs(), 1);
+        this.capacity = maxConcurrentJobs + Math.max(config.getQueueCapacity(), 0);
+        this.slots = new Semaphore(capacity);
+        this.workers = new Semaphore(maxConcurrentJobs, true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transfer-job-", 0).factory());
+        metrics.gauge("transfer.dispatcher.queued", "Jobs waiting for a dispatcher worker", this, TransferDispatcher::queuedJobs);
+        metrics.gauge("transfer.dispatcher.active", "Jobs currently executing", this, TransferDispatcher::activeJobs);
+    }
+
+    public void reserve() {
+        if (!slots.tryAcquire()) {
+            throw new DispatcherSaturatedException("Transfer dispatcher is saturated (" + capacity + " jobs running or queued)");
+        }
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    public void submit(Runnable task) {
+        try {
+            executor.execute(() -> run(task));
+        } catch (RejectedExecutionException ex) {
+            slots.release();
+            throw ex;
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            workers.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            slots.release();
+            return;
+        }
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            log.error("Dispatched transfer task failed", ex);
+        } finally {
+            workers.release();
+            slots.release();
+        }
+    }
+
+    public int idleWorkers() {
+        return Math.max(slots.availablePermits() - (capacity - maxConcurrentJobs), 0);
+    }
+
+    public int queuedJobs() {
+        return workers.getQueueLength();
+    }
+
+    public int activeJobs() {
+        return maxConcurrentJobs - workers.availablePermits();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -5,13 +5,33 @@ import com.flowpilot.transfer.domain.AttemptStatus;
 public record TransferExecutionResult(
         AttemptStatus status,
         double throughputMbps,
-        String failureReason
+        String failureReason,
+        Integer chunkSizeMb,
+        Integer parallelStreams,
+        Long objectSizeBytes,
+        int partRetries
 ) {
     public static TransferExecutionResult success(double throughputMbps) {
-        return new TransferExecutionResult(AttemptStatus.SUCCESS, throughputMbps, null);
+        return new TransferExecutionResult(AttemptStatus.SUCCESS, throughputMbps, null, null, null, null, 0);
+    }
+
+    public static TransferExecutionResult skipped() {
+        return new TransferExecutionResult(AttemptStatus.SKIPPED, 0, null, null, null, null, 0);
+    }
+
+    public static TransferExecutionResult cancelled(double throughputMbps) {
+        return new TransferExecutionResult(AttemptStatus.CANCELLED, throughputMbps, "Transfer cancelled", null, null, null, 0);
     }
 
     public static TransferExecutionResult failure(double throughputMbps, String failureReason) {
-        return new TransferExecutionResult(AttemptStatus.FAILED, throughputMbps, failureReason);
+        return new TransferExecutionResult(AttemptStatus.FAILED, throughputMbps, failureReason, null, null, null, 0);
+    }
+
+    public TransferExecutionResult withPlan(int chunkSizeMb, int parallelStreams, long objectSizeBytes) {
+        return new TransferExecutionResult(status, throughputMbps, failureReason, chunkSizeMb, parallelStreams, objectSizeBytes, partRetries);
+    }
+
+    public TransferExecutionResult withPartRetries(int partRetries) {
+        return new TransferExecutionResult(status, throughputMbps, failureReason, chunkSizeMb, parallelStreams, objectSizeBytes, partRetries);
     }
 }
@@ -0,0 +1,14 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.JobStatus;
+
+import java.time.Instant;
+
+public record TransferJobFilter(
+        JobStatus status,
+        Integer priority,
+        String bucket,
+        Instant createdFrom,
+        Instant createdTo
+) {
+}
@@ -0,0 +1,6 @@
+package com.flowpilot.transfer.service;
+
+import java.util.List;
+
+public record TransferJobPage(List<TransferJobSummary> items, String nextCursor) {
+}
@@ -0,0 +1,7 @@
+package com.flowpilot.transfer.service;
+
+import java.util.List;
+
+public interface TransferJobQueries {
+    List<TransferJobSummary> findSummaries(TransferJobFilter filter, JobCursor after, int limit);
+}
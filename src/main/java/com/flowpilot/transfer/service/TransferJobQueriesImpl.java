@@ -0,0 +1,78 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.TransferJob;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class TransferJobQueriesImpl implements TransferJobQueries {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransferJobSummary> findSummaries(TransferJobFilter filter, JobCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransferJobSummary> query = cb.createQuery(TransferJobSummary.class);
+        Root<TransferJob> job = query.from(TransferJob.class);
+        Path<Instant> createdAt = job.get("createdAt");
+        Path<UUID> id = job.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.status() != null) {
+            predicates.add(cb.equal(job.get("status"), filter.status()));
+        }
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(job.get("priority"), filter.priority()));
+        }
+        if (filter.bucket() != null && !filter.bucket().isBlank()) {
+            predicates.add(cb.or(
+                    cb.equal(job.get("source").get("bucket"), filter.bucket()),
+                    cb.equal(job.get("destination").get("bucket"), filter.bucket())
+            ));
+        }
+        if (filter.createdFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            predicates.add(cb.lessThan(createdAt, filter.createdTo()));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, after.createdAt()),
+                    cb.and(cb.equal(createdAt, after.createdAt()), cb.lessThan(id, after.id()))
+            ));
+        }
+
+        query.select(cb.construct(
+                        TransferJobSummary.class,
+                        id,
+                        job.get("kind"),
+                        job.get("source").get("type"),
+                        job.get("source").get("bucket"),
+                        job.get("destination").get("type"),
+                        job.get("destination").get("bucket"),
+                        job.get("objectKey"),
+                        job.get("objectSizeBytes"),
+                        job.get("priority"),
+                        job.get("status"),
+                        createdAt,
+                        job.get("updatedAt"),
+                        job.get("scheduledAt")
+                ))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,9 +1,93 @@
 package com.flowpilot.transfer.service;
 
+import com.flowpilot.transfer.domain.JobStatus;
 import com.flowpilot.transfer.domain.TransferJob;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
-public interface TransferJobRepository extends JpaRepository<TransferJob, UUID> {
+public interface TransferJobRepository extends JpaRepository<TransferJob, UUID>, TransferJobQueries {
+    List<TransferJob> findByStatus(JobStatus status);
+
+    @Query("select new com.flowpilot.transfer.service.ScheduledTransfer(j.id, j.scheduledAt) from TransferJob j "
+            + "where j.status in :statuses and j.scheduledAt is not null")
+    List<ScheduledTransfer> findScheduled(Collection<JobStatus> statuses);
+
+    @Query("select j.id from TransferJob j where j.scheduledAt <= :now "
+            + "and (j.status = :pending or (j.status = :failed and j.attemptCount <= j.maxRetries)) "
+            + "order by j.scheduledAt")
+    List<UUID> findDue(Instant now, JobStatus pending, JobStatus failed, Limit limit);
+
+    @Query("select j.id from TransferJob j where j.status = :running and j.leaseExpiresAt < :now")
+    List<UUID> findExpiredLeases(JobStatus running, Instant now, Limit limit);
+
+    @Query("select j.id from TransferJob j where j.id in :ids and j.status = :status")
+    List<UUID> findIdsWithStatus(Collection<UUID> ids, JobStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TransferJob j set j.status = :running, j.leaseOwner = :owner, j.leaseExpiresAt = :expiresAt, "
+            + "j.scheduledAt = null, j.updatedAt = :now, j.version = j.version + 1 "
+            + "where j.id = :id and j.status = :expected")
+    int claim(UUID id, JobStatus expected, JobStatus running, String owner, Instant expiresAt, Instant now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TransferJob j set j.status = :previous, j.leaseOwner = null, j.leaseExpiresAt = null, "
+            + "j.scheduledAt = :scheduledAt, j.updatedAt = :now, j.version = j.version + 1 "
+            + "where j.id = :id and j.status = :running and j.version = :version")
+    int unclaim(UUID id, long version, JobStatus running, JobStatus previous, Instant scheduledAt, Instant now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TransferJob j set j.status = :cancelled, j.leaseOwner = null, j.leaseExpiresAt = null, "
+            + "j.updatedAt = :now, j.version = j.version + 1 "
+            + "where j.id = :id and j.status = :expected")
+    int cancel(UUID id, JobStatus expected, JobStatus cancelled, Instant now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TransferJob j set j.scheduledAt = :scheduledAt, j.updatedAt = :now, j.version = j.version + 1 "
+            + "where j.id = :id and j.status = :expected")
+    int schedule(UUID id, JobStatus expected, Instant scheduledAt, Instant now);
+
+    @Modifying
+    @Query("update TransferJob j set j.leaseExpiresAt = :expiresAt where j.leaseOwner = :owner and j.status = :running")
+    int renewLeases(String owner, JobStatus running, Instant expiresAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TransferJob j set j.leaseOwner = null, j.leaseExpiresAt = null, j.version = j.version + 1 "
+            + "where j.id = :id and j.status = :running and j.leaseExpiresAt < :now")
+    int releaseExpiredLease(UUID id, JobStatus running, Instant now);
+
+    @Modifying
+    @Query("update TransferJob j set j.objectsListed = 0, j.objectsFailed = 0 where j.id = :id")
+    int resetObjectProgress(UUID id);
+
+    @Modifying
+    @Query("update TransferJob j set j.objectsListed = j.objectsListed + :listed, "
+            + "j.objectsCompleted = j.objectsCompleted + :completed, "
+            + "j.objectsFailed = j.objectsFailed + :failed, "
+            + "j.objectsSkipped = j.objectsSkipped + :skipped, "
+            + "j.bytesCompleted = j.bytesCompleted + :bytes "
+            + "where j.id = :id")
+    int addObjectProgress(UUID id, long listed, long completed, long failed, long skipped, long bytes);
+
+    @Query("select j.id from TransferJob j where j.attemptCount = 0 "
+            + "and exists (select 1 from TransferAttempt a where a.job = j)")
+    List<UUID> findUnsummarized(Limit limit);
+
+    @Modifying
+    @Query("update TransferJob j set "
+            + "j.attemptCount = (select max(a.attemptNumber) from TransferAttempt a where a.job = j), "
+            + "j.lastAttemptStatus = (select a.status from TransferAttempt a where a.job = j "
+            + "and a.attemptNumber = (select max(b.attemptNumber) from TransferAttempt b where b.job = j)), "
+            + "j.lastThroughputMbps = (select a.throughputMbps from TransferAttempt a where a.job = j "
+            + "and a.attemptNumber = (select max(b.attemptNumber) from TransferAttempt b where b.job = j)), "
+            + "j.lastFailureReason = (select a.failureReason from TransferAttempt a where a.job = j "
+            + "and a.attemptNumber = (select max(b.attemptNumber) from TransferAttempt b where b.job = j)) "
+            + "where j.attemptCount = 0 and exists (select 1 from TransferAttempt a where a.job = j)")
+    int backfillAttemptSummaries();
 }
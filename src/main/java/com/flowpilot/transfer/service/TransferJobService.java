@@ -1,48 +1,122 @@
 package com.flowpilot.transfer.service;
 
+import com.flowpilot.transfer.api.CreatePrefixTransferJobRequest;
 import com.flowpilot.transfer.api.CreateTransferJobRequest;
 import com.flowpilot.transfer.domain.AttemptStatus;
+import com.flowpilot.transfer.domain.JobKind;
 import com.flowpilot.transfer.domain.JobStatus;
 import com.flowpilot.transfer.domain.TransferAttempt;
 import com.flowpilot.transfer.domain.TransferJob;
-import org.springframework.data.domain.Sort;
+import com.flowpilot.transfer.domain.TransferObjectResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class TransferJobService {
+    private static final Logger log = LoggerFactory.getLogger(TransferJobService.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final TransferJobRepository transferJobRepository;
+    private final TransferAttemptRepository transferAttemptRepository;
+    private final TransferObjectResultRepository objectResultRepository;
     private final TransferExecutor transferExecutor;
+    private final TransferDispatcher transferDispatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChunkPlanTuner chunkPlanTuner;
+    private final TransferMetrics transferMetrics;
+    private final TransferProgressRegistry progressRegistry;
+    private final InFlightTransfers inFlightTransfers;
+    private final ClusterNode clusterNode;
+    private final TransferCancellations cancellations;
 
-    public TransferJobService(TransferJobRepository transferJobRepository, TransferExecutor transferExecutor) {
+    public TransferJobService(
+            TransferJobRepository transferJobRepository,
+            TransferAttemptRepository transferAttemptRepository,
+            TransferObjectResultRepository objectResultRepository,
+            TransferExecutor transferExecutor,
+            TransferDispatcher transferDispatcher,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            ChunkPlanTuner chunkPlanTuner,
+            TransferMetrics transferMetrics,
+            TransferProgressRegistry progressRegistry,
+            InFlightTransfers inFlightTransfers,
+            ClusterNode clusterNode,
+            TransferCancellations cancellations
+    ) {
         this.transferJobRepository = transferJobRepository;
+        this.transferAttemptRepository = transferAttemptRepository;
+        this.objectResultRepository = objectResultRepository;
         this.transferExecutor = transferExecutor;
+        this.transferDispatcher = transferDispatcher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkPlanTuner = chunkPlanTuner;
+        this.transferMetrics = transferMetrics;
+        this.progressRegistry = progressRegistry;
+        this.inFlightTransfers = inFlightTransfers;
+        this.clusterNode = clusterNode;
+        this.cancellations = cancellations;
     }
 
     @Transactional
     public TransferJob createJob(CreateTransferJobRequest request) {
+        return transferJobRepository.save(newJob(request, Instant.now()));
+    }
+
+    @Transactional
+    public TransferJob createPrefixJob(CreatePrefixTransferJobRequest request) {
         Instant now = Instant.now();
         TransferJob job = new TransferJob(
                 UUID.randomUUID(),
+                JobKind.PREFIX,
                 request.source(),
                 request.destination(),
-                request.objectKey(),
-                request.objectSizeBytes(),
+                null,
+                0,
                 request.priority(),
                 request.maxRetries(),
                 request.chunkPlan(),
                 now
         );
+        job.setIncremental(request.incremental());
         return transferJobRepository.save(job);
     }
 
+    @Transactional
+    public List<TransferJob> createJobs(List<CreateTransferJobRequest> requests) {
+        Instant now = Instant.now();
+        return transferJobRepository.saveAll(requests.stream().map(request -> newJob(request, now)).toList());
+    }
+
     @Transactional(readOnly = true)
-    public List<TransferJob> listJobs() {
-        return transferJobRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
+    public TransferJobPage listJobs(TransferJobFilter filter, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        JobCursor after = cursor == null || cursor.isBlank() ? null : JobCursor.decode(cursor);
+        List<TransferJobSummary> rows = transferJobRepository.findSummaries(filter, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new TransferJobPage(rows, null);
+        }
+        List<TransferJobSummary> items = rows.subList(0, pageSize);
+        TransferJobSummary last = items.get(pageSize - 1);
+        return new TransferJobPage(List.copyOf(items), new JobCursor(last.createdAt(), last.id()).encode());
     }
 
     @Transactional(readOnly = true)
@@ -51,6 +125,42 @@ public class TransferJobService {
                 .orElseThrow(() -> new NotFoundException("Transfer job not found: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public TransferAttemptPage listAttempts(UUID jobId, Integer afterAttempt, Integer limit) {
+        if (!transferJobRepository.existsById(jobId)) {
+            throw new NotFoundException("Transfer job not found: " + jobId);
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        List<TransferAttempt> rows = transferAttemptRepository.findByJobIdAndAttemptNumberGreaterThanOrderByAttemptNumberAsc(
+                jobId,
+                afterAttempt == null ? 0 : afterAttempt,
+                Limit.of(pageSize + 1)
+        );
+        if (rows.size() <= pageSize) {
+            return new TransferAttemptPage(rows, null);
+        }
+        List<TransferAttempt> items = List.copyOf(rows.subList(0, pageSize));
+        return new TransferAttemptPage(items, items.get(pageSize - 1).getAttemptNumber());
+    }
+
+    @Transactional(readOnly = true)
+    public TransferObjectResultPage listObjectResults(UUID jobId, Long afterId, Integer limit) {
+        if (!transferJobRepository.existsById(jobId)) {
+            throw new NotFoundException("Transfer job not found: " + jobId);
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        List<TransferObjectResult> rows = objectResultRepository.findByJobIdAndIdGreaterThanOrderByIdAsc(
+                jobId,
+                afterId == null ? 0 : afterId,
+                Limit.of(pageSize + 1)
+        );
+        if (rows.size() <= pageSize) {
+            return new TransferObjectResultPage(rows, null);
+        }
+        List<TransferObjectResult> items = List.copyOf(rows.subList(0, pageSize));
+        return new TransferObjectResultPage(items, items.get(pageSize - 1).getId());
+    }
+
     @Transactional
     public TransferJob scheduleJob(UUID id, Instant scheduledAt) {
         TransferJob job = getJob(id);
@@ -58,56 +168,340 @@ public class TransferJobService {
         if (status == JobStatus.COMPLETED || status == JobStatus.CANCELLED) {
             throw new InvalidTransferStateException("Cannot schedule job in state: " + status);
         }
-        job.schedule(scheduledAt);
-        return transferJobRepository.save(job);
+        if (transferJobRepository.schedule(id, status, scheduledAt, Instant.now()) == 0) {
+            throw new InvalidTransferStateException("Job changed state concurrently: " + id);
+        }
+        eventPublisher.publishEvent(new ScheduledTransfer(id, scheduledAt));
+        return getJob(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledTransfer> listScheduledJobs() {
+        return transferJobRepository.findScheduled(List.of(JobStatus.PENDING, JobStatus.FAILED));
     }
 
-    @Transactional
     public TransferJob startJob(UUID id, ExecutionOptions options) {
+        return dispatch(id, options, this::requireStartable);
+    }
+
+    public TransferJob startScheduledJob(UUID id) {
+        return dispatch(id, ExecutionOptions.success(0), job -> {
+            Instant scheduledAt = job.getScheduledAt();
+            if (scheduledAt == null || scheduledAt.isAfter(Instant.now())) {
+                throw new InvalidTransferStateException("Job is not due for execution: " + id);
+            }
+            requireStartable(job);
+        });
+    }
+
+    public TransferJob retryJob(UUID id, ExecutionOptions options) {
+        return dispatch(id, options, job -> {
+            JobStatus status = job.getStatus();
+            if (status != JobStatus.FAILED) {
+                throw new InvalidTransferStateException("Retry is only allowed from FAILED state. Current state: " + status);
+            }
+            if (job.getAttemptCount() > job.getMaxRetries()) {
+                throw new InvalidTransferStateException("Retry limit reached for job: " + id);
+            }
+        });
+    }
+
+    @Transactional
+    public TransferJob cancelJob(UUID id) {
         TransferJob job = getJob(id);
         JobStatus status = job.getStatus();
-        if (status != JobStatus.PENDING && status != JobStatus.FAILED) {
-            throw new InvalidTransferStateException("Job can only start from PENDING or FAILED. Current state: " + status);
+        if (status == JobStatus.COMPLETED || status == JobStatus.CANCELLED) {
+            throw new InvalidTransferStateException("Cannot cancel job in state: " + status);
         }
-        if (status == JobStatus.FAILED && job.getAttemptCount() > job.getMaxRetries()) {
-            throw new InvalidTransferStateException("Retry limit reached for job: " + id);
+        if (transferJobRepository.cancel(id, status, JobStatus.CANCELLED, Instant.now()) == 0) {
+            throw new InvalidTransferStateException("Job changed state concurrently: " + id);
         }
-        execute(job, options);
-        return transferJobRepository.save(job);
+        transferMetrics.recordTransition(status, JobStatus.CANCELLED);
+        if (status == JobStatus.RUNNING) {
+            cancellations.cancel(id);
+        }
+        return getJob(id);
     }
 
+    @EventListener(ApplicationReadyEvent.class)
     @Transactional
-    public TransferJob retryJob(UUID id, ExecutionOptions options) {
-        TransferJob job = getJob(id);
-        JobStatus status = job.getStatus();
-        if (status != JobStatus.FAILED) {
-            throw new InvalidTransferStateException("Retry is only allowed from FAILED state. Current state: " + status);
+    public void reconcileOnStartup() {
+        for (TransferJob job : transferJobRepository.findByStatus(JobStatus.RUNNING)) {
+            if (clusterNode.isEnabled() && !clusterNode.nodeId().equals(job.getLeaseOwner())) {
+                continue;
+            }
+            TransferAttempt attempt = new TransferAttempt(
+                    job.getAttemptCount() + 1,
+                    AttemptStatus.FAILED,
+                    job.getUpdatedAt(),
+                    Instant.now(),
+                    "Interrupted by service restart",
+                    0,
+                    null,
+                    null
+            );
+            job.markFailed(attempt);
+            transferAttemptRepository.save(attempt);
+            transferMetrics.recordTransition(JobStatus.RUNNING, JobStatus.FAILED);
         }
-        if (job.getAttemptCount() > job.getMaxRetries()) {
-            throw new InvalidTransferStateException("Retry limit reached for job: " + id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> listDueJobs(int limit) {
+        return transferJobRepository.findDue(Instant.now(), JobStatus.PENDING, JobStatus.FAILED, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> listExpiredLeases(int limit) {
+        return transferJobRepository.findExpiredLeases(JobStatus.RUNNING, Instant.now(), Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public int propagateCancellations() {
+        Set<UUID> active = cancellations.active();
+        if (active.isEmpty()) {
+            return 0;
         }
-        execute(job, options);
-        return transferJobRepository.save(job);
+        List<UUID> cancelled = transferJobRepository.findIdsWithStatus(active, JobStatus.CANCELLED);
+        cancelled.forEach(cancellations::cancel);
+        return cancelled.size();
     }
 
     @Transactional
-    public TransferJob cancelJob(UUID id) {
+    public int renewLeases() {
+        return transferJobRepository.renewLeases(clusterNode.nodeId(), JobStatus.RUNNING, clusterNode.leaseExpiry(Instant.now()));
+    }
+
+    @Transactional
+    public void reclaimExpiredLease(UUID id) {
+        String owner = getJob(id).getLeaseOwner();
+        Instant now = Instant.now();
+        if (transferJobRepository.releaseExpiredLease(id, JobStatus.RUNNING, now) == 0) {
+            return;
+        }
         TransferJob job = getJob(id);
+        TransferAttempt attempt = new TransferAttempt(
+                job.getAttemptCount() + 1,
+                AttemptStatus.FAILED,
+                job.getUpdatedAt(),
+                now,
+                "Lease held by " + owner + " expired",
+                0,
+                null,
+                null
+        );
+        job.markFailed(attempt);
+        transferAttemptRepository.save(attempt);
+        transferMetrics.recordTransition(JobStatus.RUNNING, JobStatus.FAILED);
+        transferMetrics.recordLeaseReclaimed();
+        if (job.getAttemptCount() <= job.getMaxRetries()) {
+            job.schedule(now);
+        }
+        log.info("Reclaimed job {} from expired lease held by {}", id, owner);
+    }
+
+    private TransferJob newJob(CreateTransferJobRequest request, Instant createdAt) {
+        TransferJob job = new TransferJob(
+                UUID.randomUUID(),
+                request.source(),
+                request.destination(),
+                request.objectKey(),
+                request.objectSizeBytes(),
+                request.priority(),
+                request.maxRetries(),
+                request.chunkPlan(),
+                createdAt
+        );
+        job.setIncremental(request.incremental());
+        return job;
+    }
+
+    private void requireStartable(TransferJob job) {
         JobStatus status = job.getStatus();
-        if (status == JobStatus.COMPLETED || status == JobStatus.CANCELLED) {
-            throw new InvalidTransferStateException("Cannot cancel job in state: " + status);
+        if (status != JobStatus.PENDING && status != JobStatus.FAILED) {
+            throw new InvalidTransferStateException("Job can only start from PENDING or FAILED. Current state: " + status);
+        }
+        if (status == JobStatus.FAILED && job.getAttemptCount() > job.getMaxRetries()) {
+            throw new InvalidTransferStateException("Retry limit reached for job: " + job.getId());
+        }
+    }
+
+    private TransferJob dispatch(UUID id, ExecutionOptions options, Consumer<TransferJob> precondition) {
+        transferDispatcher.reserve();
+        boolean reserved = true;
+        Claim claim = null;
+        InFlightTransfers.Flight flight = null;
+        CancellationToken cancellation = null;
+        try {
+            cancellation = cancellations.register(id);
+            claim = transactionTemplate.execute(tx -> {
+                TransferJob current = getJob(id);
+                precondition.accept(current);
+                JobStatus previous = current.getStatus();
+                Instant scheduledAt = current.getScheduledAt();
+                Instant now = Instant.now();
+                String owner = clusterNode.isEnabled() ? clusterNode.nodeId() : null;
+                Instant expiresAt = clusterNode.isEnabled() ? clusterNode.leaseExpiry(now) : null;
+                if (transferJobRepository.claim(id, previous, JobStatus.RUNNING, owner, expiresAt, now) == 0) {
+                    throw new InvalidTransferStateException("Job changed state concurrently: " + id);
+                }
+                transferMetrics.recordTransition(previous, JobStatus.RUNNING);
+                return new Claim(getJob(id), previous, scheduledAt);
+            });
+            TransferJob job = claim.job();
+            int attemptNumber = job.getAttemptCount() + 1;
+            if (job.getKind() == JobKind.OBJECT && !options.simulateFailure()) {
+                flight = inFlightTransfers.join(job);
+                if (!flight.isLeader(id)) {
+                    reserved = false;
+                    transferDispatcher.release();
+                    cancellations.unregister(cancellation);
+                    follow(job, attemptNumber, flight);
+                    return job;
+                }
+            }
+            InFlightTransfers.Flight leading = flight;
+            CancellationToken token = cancellation;
+            reserved = false;
+            transferDispatcher.submit(() -> execute(id, attemptNumber, options, leading, token));
+            return job;
+        } catch (RuntimeException ex) {
+            if (reserved) {
+                transferDispatcher.release();
+            }
+            if (cancellation != null) {
+                cancellations.unregister(cancellation);
+            }
+            if (claim != null) {
+                unclaim(claim, ex);
+            }
+            if (flight != null && flight.isLeader(id)) {
+                inFlightTransfers.complete(flight, TransferExecutionResult.failure(0, "Dispatch failed: " + ex.getMessage()));
+            }
+            throw ex;
+        }
+    }
+
+    private void unclaim(Claim claim, RuntimeException cause) {
+        TransferJob job = claim.job();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                if (transferJobRepository.unclaim(job.getId(), job.getVersion(), JobStatus.RUNNING, claim.previous(),
+                        claim.scheduledAt(), Instant.now()) == 1) {
+                    transferMetrics.recordTransition(JobStatus.RUNNING, claim.previous());
+                }
+            });
+        } catch (RuntimeException ex) {
+            cause.addSuppressed(ex);
+            log.warn("Failed to return job {} to {} after dispatch failed", job.getId(), claim.previous(), ex);
         }
-        job.markCancelled();
-        return transferJobRepository.save(job);
     }
 
-    private void execute(TransferJob job, ExecutionOptions options) {
-        int attemptNumber = job.getAttemptCount() + 1;
+    private void follow(TransferJob job, int attemptNumber, InFlightTransfers.Flight flight) {
+        UUID id = job.getId();
         Instant startedAt = Instant.now();
-        job.markRunning();
-        TransferExecutionResult result = transferExecutor.execute(job, options);
+        progressRegistry.begin(id, job.getObjectSizeBytes());
+        flight.result().thenAccept(result -> {
+            String failureReason = result.failureReason() == null
+                    ? null
+                    : "Coalesced with job " + flight.leaderId() + ": " + result.failureReason();
+            AttemptStatus status = result.status() == AttemptStatus.CANCELLED ? AttemptStatus.FAILED : result.status();
+            TransferExecutionResult outcome = new TransferExecutionResult(status, result.throughputMbps(), failureReason, null, null, null, 0);
+            try {
+                persistOutcome(id, attemptNumber, startedAt, Instant.now(), outcome);
+            } finally {
+                progressRegistry.finish(id, terminalStatus(outcome));
+            }
+        });
+    }
+
+    private void execute(
+            UUID id,
+            int attemptNumber,
+            ExecutionOptions options,
+            InFlightTransfers.Flight flight,
+            CancellationToken cancellation
+    ) {
+        Instant startedAt = Instant.now();
+        TransferExecutionResult result;
+        try {
+            TransferJob job = getJob(id);
+            progressRegistry.begin(id, job.getObjectSizeBytes());
+            result = cancellation.isCancelled()
+                    ? TransferExecutionResult.cancelled(0)
+                    : transferExecutor.execute(job, options, cancellation);
+        } catch (RuntimeException ex) {
+            result = cancellation.isCancelled()
+                    ? TransferExecutionResult.cancelled(0)
+                    : TransferExecutionResult.failure(0, "Transfer failed: " + ex.getMessage());
+        } finally {
+            cancellations.unregister(cancellation);
+        }
+        if (cancellation.isCancelled()) {
+            long latencyNanos = System.nanoTime() - cancellation.cancelledAtNanos();
+            transferMetrics.recordCancellation(latencyNanos);
+            log.info("Job {} stopped {} ms after cancellation", id, latencyNanos / 1_000_000);
+        }
         Instant finishedAt = Instant.now();
+        TransferExecutionResult outcome = result;
+        try {
+            persistOutcome(id, attemptNumber, startedAt, finishedAt, outcome);
+        } finally {
+            progressRegistry.finish(id, terminalStatus(outcome));
+            if (flight != null) {
+                inFlightTransfers.complete(flight, outcome);
+            }
+        }
+    }
+
+    private JobStatus terminalStatus(TransferExecutionResult result) {
+        return switch (result.status()) {
+            case FAILED -> JobStatus.FAILED;
+            case CANCELLED -> JobStatus.CANCELLED;
+            default -> JobStatus.COMPLETED;
+        };
+    }
+
+    private void persistOutcome(UUID id, int attemptNumber, Instant startedAt, Instant finishedAt, TransferExecutionResult result) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> recordOutcome(id, attemptNumber, startedAt, finishedAt, result));
+        } catch (OptimisticLockingFailureException ex) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> recordOutcome(id, attemptNumber, startedAt, finishedAt, result));
+            } catch (OptimisticLockingFailureException again) {
+                log.warn("Discarding outcome of job {}: job changed state concurrently", id);
+            }
+        }
+    }
 
+    private void recordOutcome(UUID id, int attemptNumber, Instant startedAt, Instant finishedAt, TransferExecutionResult result) {
+        TransferJob job = getJob(id);
+        if (job.getStatus() == JobStatus.CANCELLED && attemptNumber > job.getAttemptCount()) {
+            TransferAttempt attempt = new TransferAttempt(
+                    attemptNumber,
+                    result.status(),
+                    startedAt,
+                    finishedAt,
+                    result.failureReason(),
+                    result.throughputMbps(),
+                    result.chunkSizeMb(),
+                    result.parallelStreams()
+            );
+            attempt.setPartRetries(result.partRetries());
+            attempt.setObjectSizeBytes(result.objectSizeBytes());
+            job.recordCancellation(attempt);
+            transferAttemptRepository.save(attempt);
+            return;
+        }
+        if (clusterNode.isEnabled() && !clusterNode.nodeId().equals(job.getLeaseOwner())) {
+            log.warn("Discarding outcome of job {}: lease is no longer held by {}", id, clusterNode.nodeId());
+            return;
+        }
+        JobStatus previous = job.getStatus();
+        if (previous != JobStatus.RUNNING) {
+            log.warn("Discarding outcome of job {}: job is {}", id, previous);
+            return;
+        }
         if (result.status() == AttemptStatus.FAILED) {
             TransferAttempt attempt = new TransferAttempt(
                     attemptNumber,
@@ -115,9 +509,15 @@ public class TransferJobService {
                     startedAt,
                     finishedAt,
                     result.failureReason(),
-                    result.throughputMbps()
+                    result.throughputMbps(),
+                    result.chunkSizeMb(),
+                    result.parallelStreams()
             );
+            attempt.setPartRetries(result.partRetries());
+            attempt.setObjectSizeBytes(result.objectSizeBytes());
             job.markFailed(attempt);
+            transferAttemptRepository.save(attempt);
+            transferMetrics.recordTransition(previous, JobStatus.FAILED);
             return;
         }
 
@@ -127,8 +527,18 @@ public class TransferJobService {
                 startedAt,
                 finishedAt,
                 null,
-                result.throughputMbps()
+                result.throughputMbps(),
+                result.chunkSizeMb(),
+                result.parallelStreams()
         );
+        attempt.setPartRetries(result.partRetries());
+        attempt.setObjectSizeBytes(result.objectSizeBytes());
         job.markCompleted(attempt);
+        transferAttemptRepository.save(attempt);
+        transferMetrics.recordTransition(previous, JobStatus.COMPLETED);
+        chunkPlanTuner.record(job, result);
+    }
+
+    private record Claim(TransferJob job, JobStatus previous, Instant scheduledAt) {
     }
 }
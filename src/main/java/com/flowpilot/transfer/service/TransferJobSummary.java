@@ -0,0 +1,25 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.JobKind;
+import com.flowpilot.transfer.domain.JobStatus;
+import com.flowpilot.transfer.domain.StorageType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record TransferJobSummary(
+        UUID id,
+        JobKind kind,
+        StorageType sourceType,
+        String sourceBucket,
+        StorageType destinationType,
+        String destinationBucket,
+        String objectKey,
+        long objectSizeBytes,
+        int priority,
+        JobStatus status,
+        Instant createdAt,
+        Instant updatedAt,
+        Instant scheduledAt
+) {
+}
@@ -0,0 +1,142 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.JobStatus;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+@Component
+public class TransferMetrics {
+    private final MeterRegistry registry;
+
+    public TransferMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> void gauge(String name, String description, T target, ToDoubleFunction<T> value, String... tags) {
+        Gauge.builder(name, target, value)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+
+    public void recordBytes(StorageEndpoint source, StorageEndpoint destination, String mode, long bytes) {
+        Counter.builder("transfer.bytes")
+                .description("Bytes moved between storage endpoints")
+                .baseUnit("bytes")
+                .tag("source_type", source.getType().name())
+                .tag("destination_type", destination.getType().name())
+                .tag("route", route(source, destination))
+                .tag("mode", mode)
+                .register(registry)
+                .increment(bytes);
+    }
+
+    public void recordCoalesced(StorageEndpoint source, StorageEndpoint destination) {
+        Counter.builder("transfer.jobs.coalesced")
+                .description("Jobs attached to an identical transfer that was already in flight")
+                .tag("route", route(source, destination))
+                .register(registry)
+                .increment();
+    }
+
+    public void recordSkipped(StorageEndpoint source, StorageEndpoint destination, long bytes) {
+        Counter.builder("transfer.sync.skipped")
+                .description("Bytes not transferred because the destination already held identical content")
+                .baseUnit("bytes")
+                .tag("source_type", source.getType().name())
+                .tag("destination_type", destination.getType().name())
+                .tag("route", route(source, destination))
+                .register(registry)
+                .increment(bytes);
+    }
+
+    public void recordPart(String phase, StorageEndpoint endpoint, String outcome, long elapsedNanos) {
+        Timer.builder("transfer.part.duration")
+                .description("Latency of a single part request against a storage endpoint")
+                .tag("phase", phase)
+                .tag("backend", endpoint.getType().name())
+                .tag("region", endpoint.getRegion())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Duration.ofNanos(elapsedNanos));
+    }
+
+    public void recordPartRetry(StorageEndpoint endpoint, String reason) {
+        Counter.builder("transfer.part.retries")
+                .description("Parts retried inside a transfer attempt")
+                .tag("backend", endpoint.getType().name())
+                .tag("region", endpoint.getRegion())
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordPartRetryExhausted(StorageEndpoint endpoint, String limit) {
+        Counter.builder("transfer.part.retries.exhausted")
+                .description("Retryable part failures that were not retried because a retry limit was reached")
+                .tag("backend", endpoint.getType().name())
+                .tag("region", endpoint.getRegion())
+                .tag("limit", limit)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordAbort(StorageEndpoint destination) {
+        Counter.builder("transfer.multipart.aborts")
+                .description("Multipart uploads aborted on the destination")
+                .tag("backend", destination.getType().name())
+                .tag("region", destination.getRegion())
+                .register(registry)
+                .increment();
+    }
+
+    public void recordThrottle(String scope, long waitNanos) {
+        Timer.builder("transfer.bandwidth.wait")
+                .description("Time part streams spent waiting for bandwidth tokens")
+                .tag("scope", scope)
+                .register(registry)
+                .record(Duration.ofNanos(waitNanos));
+    }
+
+    public void recordBufferWait(long waitNanos) {
+        Timer.builder("transfer.buffers.wait")
+                .description("Time parts spent waiting for part buffer memory")
+                .register(registry)
+                .record(Duration.ofNanos(waitNanos));
+    }
+
+    public void recordLeaseReclaimed() {
+        Counter.builder("transfer.cluster.leases.reclaimed")
+                .description("Running jobs failed over after their lease expired")
+                .register(registry)
+                .increment();
+    }
+
+    public void recordCancellation(long latencyNanos) {
+        Timer.builder("transfer.cancellation.latency")
+                .description("Time from a cancel request until the running transfer stopped")
+                .register(registry)
+                .record(Duration.ofNanos(latencyNanos));
+    }
+
+    public void recordTransition(JobStatus from, JobStatus to) {
+        Counter.builder("transfer.job.transitions")
+                .description("Transfer job state transitions")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(registry)
+                .increment();
+    }
+
+    private String route(StorageEndpoint source, StorageEndpoint destination) {
+        return source.getType() + ":" + source.getRegion() + "->" + destination.getType() + ":" + destination.getRegion();
+    }
+}
@@ -0,0 +1,8 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.TransferObjectResult;
+
+import java.util.List;
+
+public record TransferObjectResultPage(List<TransferObjectResult> items, Long nextAfterId) {
+}
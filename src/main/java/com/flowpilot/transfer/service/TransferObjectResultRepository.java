@@ -0,0 +1,15 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.TransferObjectResult;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TransferObjectResultRepository extends JpaRepository<TransferObjectResult, Long> {
+    List<TransferObjectResult> findByJobIdAndObjectKeyIn(UUID jobId, Collection<String> objectKeys);
+
+    List<TransferObjectResult> findByJobIdAndIdGreaterThanOrderByIdAsc(UUID jobId, long id, Limit limit);
+}
@@ -0,0 +1,140 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.AttemptStatus;
+import com.flowpilot.transfer.domain.TransferObjectResult;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TransferObjectResultService {
+    private final TransferObjectResultRepository resultRepository;
+    private final TransferJobRepository transferJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TransferObjectResultService(
+            TransferObjectResultRepository resultRepository,
+            TransferJobRepository transferJobRepository,
+            PlatformTransactionManager transactionManager,
+            TransferStorageProperties properties
+    ) {
+        this.resultRepository = resultRepository;
+        this.transferJobRepository = transferJobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(properties.getPrefix().getResultBatchSize(), 1);
+    }
+
+    @Transactional
+    public void begin(UUID jobId) {
+        transferJobRepository.resetObjectProgress(jobId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, TransferObjectResult> find(UUID jobId, Collection<String> objectKeys) {
+        return resultRepository.findByJobIdAndObjectKeyIn(jobId, objectKeys).stream()
+                .collect(Collectors.toMap(TransferObjectResult::getObjectKey, Function.identity()));
+    }
+
+    public Writer writer(UUID jobId, int attemptNumber) {
+        return new Writer(jobId, attemptNumber);
+    }
+
+    public final class Writer {
+        private final UUID jobId;
+        private final int attemptNumber;
+        private List<TransferObjectResult> pending = new ArrayList<>();
+        private long listed;
+        private long completed;
+        private long failed;
+        private long skipped;
+        private long bytes;
+
+        private Writer(UUID jobId, int attemptNumber) {
+            this.jobId = jobId;
+            this.attemptNumber = attemptNumber;
+        }
+
+        public synchronized void listed(long objects) {
+            listed += objects;
+        }
+
+        public void succeeded(TransferObjectResult existing, String objectKey, long sizeBytes) {
+            record(existing, objectKey, sizeBytes, AttemptStatus.SUCCESS, null);
+        }
+
+        public void skipped(TransferObjectResult existing, String objectKey, long sizeBytes) {
+            record(existing, objectKey, sizeBytes, AttemptStatus.SKIPPED, null);
+        }
+
+        public void failed(TransferObjectResult existing, String objectKey, long sizeBytes, String failureReason) {
+            record(existing, objectKey, sizeBytes, AttemptStatus.FAILED, failureReason);
+        }
+
+        public void flush() {
+            Batch batch;
+            synchronized (this) {
+                batch = drain();
+            }
+            write(batch);
+        }
+
+        private void record(TransferObjectResult existing, String objectKey, long sizeBytes, AttemptStatus status, String failureReason) {
+            TransferObjectResult result = existing != null ? existing : new TransferObjectResult(jobId, objectKey, sizeBytes);
+            result.record(status, attemptNumber, failureReason, Instant.now());
+            Batch batch = null;
+            synchronized (this) {
+                pending.add(result);
+                if (status == AttemptStatus.FAILED) {
+                    failed++;
+                } else {
+                    completed++;
+                    bytes += sizeBytes;
+                }
+                if (status == AttemptStatus.SKIPPED) {
+                    skipped++;
+                }
+                if (pending.size() >= batchSize) {
+                    batch = drain();
+                }
+            }
+            if (batch != null) {
+                write(batch);
+            }
+        }
+
+        private Batch drain() {
+            Batch batch = new Batch(pending, listed, completed, failed, skipped, bytes);
+            pending = new ArrayList<>();
+            listed = 0;
+            completed = 0;
+            failed = 0;
+            skipped = 0;
+            bytes = 0;
+            return batch;
+        }
+
+        private void write(Batch batch) {
+            if (batch.results().isEmpty() && batch.listed() == 0) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(tx -> {
+                resultRepository.saveAll(batch.results());
+                transferJobRepository.addObjectProgress(jobId, batch.listed(), batch.completed(), batch.failed(), batch.skipped(), batch.bytes());
+            });
+        }
+    }
+
+    private record Batch(List<TransferObjectResult> results, long listed, long completed, long failed, long skipped, long bytes) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.JobKind;
+import com.flowpilot.transfer.domain.JobStatus;
+import com.flowpilot.transfer.domain.TransferJob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record TransferProgress(
+        UUID jobId,
+        JobStatus status,
+        long bytesTransferred,
+        long totalBytes,
+        double rateMbps,
+        Long etaSeconds,
+        Instant updatedAt
+) {
+    public static TransferProgress settled(TransferJob job) {
+        if (job.getKind() == JobKind.PREFIX) {
+            long transferred = job.getBytesCompleted();
+            return new TransferProgress(job.getId(), job.getStatus(), transferred, transferred, 0, null, job.getUpdatedAt());
+        }
+        long total = job.getObjectSizeBytes();
+        long transferred = job.getStatus() == JobStatus.COMPLETED ? total : 0;
+        return new TransferProgress(job.getId(), job.getStatus(), transferred, total, 0, null, job.getUpdatedAt());
+    }
+}
@@ -0,0 +1,182 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.JobStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class TransferProgressRegistry {
+    private static final double SMOOTHING = 0.3;
+
+    private final Map<UUID, Tracker> trackers = new ConcurrentHashMap<>();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Duration streamTimeout;
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transfer-progress");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TransferProgressRegistry(TransferStorageProperties properties) {
+        TransferStorageProperties.Progress config = properties.getProgress();
+        this.streamTimeout = config.getStreamTimeout();
+        long intervalMillis = Math.max(config.getPublishInterval().toMillis(), 50);
+        publisher.scheduleAtFixedRate(this::publish, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void begin(UUID jobId, long totalBytes) {
+        trackers.put(jobId, new Tracker(jobId, totalBytes));
+    }
+
+    public void updateTotal(UUID jobId, long totalBytes) {
+        Tracker tracker = trackers.get(jobId);
+        if (tracker != null) {
+            tracker.totalBytes = totalBytes;
+            tracker.dirty = true;
+        }
+    }
+
+    public void addBytes(UUID jobId, long bytes) {
+        Tracker tracker = trackers.get(jobId);
+        if (tracker != null) {
+            tracker.bytes.addAndGet(bytes);
+            tracker.dirty = true;
+        }
+    }
+
+    public void finish(UUID jobId, JobStatus status) {
+        Tracker tracker = trackers.get(jobId);
+        if (tracker != null) {
+            tracker.status = status;
+            tracker.dirty = true;
+        }
+    }
+
+    public List<TransferProgress> snapshot() {
+        return trackers.values().stream().map(Tracker::snapshot).toList();
+    }
+
+    public SseEmitter subscribe(UUID jobId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscription subscription = new Subscription(jobId, emitter);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+
+        for (Tracker tracker : trackers.values()) {
+            if (jobId == null || jobId.equals(tracker.jobId)) {
+                subscription.send(tracker.snapshot());
+            }
+        }
+        return emitter;
+    }
+
+    public void close(SseEmitter emitter, TransferProgress progress) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(progress));
+            emitter.complete();
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        publisher.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    private void publish() {
+        Instant now = Instant.now();
+        List<TransferProgress> changed = new ArrayList<>();
+        for (Tracker tracker : trackers.values()) {
+            JobStatus status = tracker.status;
+            if (tracker.sample(now)) {
+                changed.add(tracker.snapshot());
+            }
+            if (status != JobStatus.RUNNING) {
+                trackers.remove(tracker.jobId, tracker);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            for (TransferProgress progress : changed) {
+                if (subscription.jobId == null || subscription.jobId.equals(progress.jobId())) {
+                    subscription.send(progress);
+                    if (subscription.jobId != null && progress.status() != JobStatus.RUNNING) {
+                        subscription.emitter.complete();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Tracker {
+        private final UUID jobId;
+        private final AtomicLong bytes = new AtomicLong();
+        private volatile long totalBytes;
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile boolean dirty = true;
+        private volatile double rateMbps;
+        private volatile Instant updatedAt = Instant.now();
+        private long sampledBytes;
+        private Instant sampledAt = Instant.now();
+
+        private Tracker(UUID jobId, long totalBytes) {
+            this.jobId = jobId;
+            this.totalBytes = totalBytes;
+        }
+
+        private boolean sample(Instant now) {
+            long current = bytes.get();
+            double seconds = Math.max(Duration.between(sampledAt, now).toMillis() / 1000.0, 0.001);
+            double instantRate = (current - sampledBytes) * 8.0 / 1_000_000.0 / seconds;
+            rateMbps = rateMbps == 0 ? instantRate : rateMbps + SMOOTHING * (instantRate - rateMbps);
+            sampledBytes = current;
+            sampledAt = now;
+            if (!dirty) {
+                return false;
+            }
+            dirty = false;
+            updatedAt = now;
+            return true;
+        }
+
+        private TransferProgress snapshot() {
+            long transferred = bytes.get();
+            long remaining = Math.max(totalBytes - transferred, 0);
+            Long etaSeconds = rateMbps > 0 && status == JobStatus.RUNNING
+                    ? (long) Math.ceil(remaining * 8.0 / 1_000_000.0 / rateMbps)
+                    : null;
+            return new TransferProgress(jobId, status, transferred, totalBytes, rateMbps, etaSeconds, updatedAt);
+        }
+    }
+
+    private record Subscription(UUID jobId, SseEmitter emitter) {
+        private void send(TransferProgress progress) {
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(progress));
+            } catch (IOException | IllegalStateException ex) {
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.flowpilot.transfer.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TransferScheduler {
+    private static final Logger log = LoggerFactory.getLogger(TransferScheduler.class);
+
+    private final TransferJobService transferJobService;
+    private final ClusterNode clusterNode;
+    private final Duration retryDelay;
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    private final Map<UUID, Instant> pending = new ConcurrentHashMap<>();
+    private final ExecutorService firing = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transfer-fire-", 0).factory());
+    private volatile Thread timer;
+
+    public TransferScheduler(
+            TransferJobService transferJobService,
+            ClusterNode clusterNode,
+            TransferStorageProperties properties,
+            TransferMetrics metrics
+    ) {
+        this.transferJobService = transferJobService;
+        this.clusterNode = clusterNode;
+        this.retryDelay = properties.getScheduler().getRetryDelay();
+        metrics.gauge("transfer.scheduler.pending", "Scheduled jobs waiting for their start time", this, TransferScheduler::pendingJobs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (clusterNode.isEnabled()) {
+            return;
+        }
+        for (ScheduledTransfer scheduled : transferJobService.listScheduledJobs()) {
+            enqueue(scheduled.jobId(), scheduled.scheduledAt());
+        }
+        timer = Thread.ofVirtual().name("transfer-scheduler").start(this::run);
+    }
+
+    @TransactionalEventListener
+    public void onScheduled(ScheduledTransfer scheduled) {
+        if (clusterNode.isEnabled()) {
+            return;
+        }
+        enqueue(scheduled.jobId(), scheduled.scheduledAt());
+    }
+
+    public int pendingJobs() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        Thread current = timer;
+        if (current != null) {
+            current.interrupt();
+        }
+        firing.shutdownNow();
+    }
+
+    private void enqueue(UUID jobId, Instant scheduledAt) {
+        pending.put(jobId, scheduledAt);
+        queue.put(new Entry(jobId, scheduledAt));
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Entry entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (pending.remove(entry.jobId(), entry.scheduledAt())) {
+                firing.execute(() -> fire(entry));
+            }
+        }
+    }
+
+    private void fire(Entry entry) {
+        try {
+            transferJobService.startScheduledJob(entry.jobId());
+        } catch (DispatcherSaturatedException ex) {
+            if (pending.putIfAbsent(entry.jobId(), entry.scheduledAt()) == null) {
+                queue.put(new Entry(entry.jobId(), entry.scheduledAt(), Instant.now().plus(retryDelay)));
+            }
+        } catch (InvalidTransferStateException | NotFoundException ex) {
+            log.debug("Skipping scheduled job {}: {}", entry.jobId(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.warn("Failed to start scheduled job {}", entry.jobId(), ex);
+        }
+    }
+
+    private record Entry(UUID jobId, Instant scheduledAt, Instant fireAt) implements Delayed {
+        Entry(UUID jobId, Instant scheduledAt) {
+            this(jobId, scheduledAt, scheduledAt);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(Instant.now(), fireAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return fireAt.compareTo(((Entry) other).fireAt);
+        }
+    }
+}
@@ -1,16 +1,40 @@
 package com.flowpilot.transfer.service;
 
+import com.flowpilot.transfer.domain.StorageType;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
 @Component
 @ConfigurationProperties(prefix = "transfer")
 @Getter
 @Setter
 public class TransferStorageProperties {
     private Executor executor = new Executor();
+    private Dispatcher dispatcher = new Dispatcher();
+    private Scheduler scheduler = new Scheduler();
+    private Parts parts = new Parts();
+    private Retry retry = new Retry();
+    private Checkpoint checkpoint = new Checkpoint();
+    private Tuning tuning = new Tuning();
+    private Progress progress = new Progress();
+    private Bulk bulk = new Bulk();
+    private Prefix prefix = new Prefix();
+    private Async async = new Async();
+    private Bandwidth bandwidth = new Bandwidth();
+    private Clients clients = new Clients();
+    private Buffers buffers = new Buffers();
+    private Cluster cluster = new Cluster();
+    private Local local = new Local();
+    private Simulation simulation = new Simulation();
+    private Migrations migrations = new Migrations();
     private Backend s3 = new Backend();
     private Backend minio = new Backend();
 
@@ -18,6 +42,147 @@ public class TransferStorageProperties {
     @Setter
     public static class Executor {
         private String mode = "simulated";
+        private boolean serverSideCopy = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Dispatcher {
+        private int maxConcurrentJobs = 256;
+        private int queueCapacity = 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class Scheduler {
+        private Duration retryDelay = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Parts {
+        private int maxInFlight = 512;
+        private int maxInFlightPerEndpoint = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+        private int maxAttemptsPerPart = 5;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(20);
+        private int jobBudget = 200;
+        private double stragglerFactor = 4.0;
+        private Duration stragglerMinTimeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Checkpoint {
+        private int batchSize = 32;
+    }
+
+    @Getter
+    @Setter
+    public static class Tuning {
+        private int defaultChunkSizeMb = 64;
+        private int defaultParallelStreams = 8;
+        private int minChunkSizeMb = 8;
+        private int maxChunkSizeMb = 512;
+        private int maxParallelStreams = 64;
+        private double explorationRate = 0.1;
+        private int historySize = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class Progress {
+        private Duration publishInterval = Duration.ofSeconds(1);
+        private Duration streamTimeout = Duration.ofMinutes(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Bulk {
+        private int batchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Prefix {
+        private int maxPendingObjects = 256;
+        private int resultBatchSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+        private int maxConcurrency = 1024;
+        private int maxPendingConnectionAcquires = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class Bandwidth {
+        private double globalMbps = 0;
+        private double perJobMbps = 0;
+        private Map<StorageType, Double> perTypeMbps = new EnumMap<>(StorageType.class);
+    }
+
+    @Getter
+    @Setter
+    public static class Clients {
+        private int maxConnections = 0;
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+        private Duration socketTimeout = Duration.ofSeconds(60);
+        private Duration connectionAcquisitionTimeout = Duration.ofSeconds(60);
+        private Duration connectionMaxIdleTime = Duration.ofSeconds(60);
+        private Duration idleClientTimeout = Duration.ofMinutes(10);
+        private Duration evictionInterval = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Buffers {
+        private int maxMemoryMb = 1024;
+        private int slabSizeMb = 8;
+    }
+
+    @Getter
+    @Setter
+    public static class Cluster {
+        private boolean enabled = false;
+        private String nodeId;
+        private Duration leaseDuration = Duration.ofSeconds(30);
+        private Duration heartbeatInterval = Duration.ofSeconds(10);
+        private Duration pollInterval = Duration.ofSeconds(2);
+        private int claimBatchSize = 32;
+        private int claimCandidateFactor = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Local {
+        private Map<String, Path> volumes = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Simulation {
+        private double linkCapacityMbps = 10000;
+        private double streamMbps = 400;
+        private double streamMbpsSpread = 0.5;
+        private Duration partLatency = Duration.ofMillis(40);
+        private double partLatencySpread = 0.5;
+        private double partFailureProbability = 0.001;
+        private int defaultObjectSizeMb = 256;
+        private double timeScale = 1.0;
+    }
+
+    @Getter
+    @Setter
+    public static class Migrations {
+        private boolean backfillAttemptSummaries = true;
     }
 
     @Getter
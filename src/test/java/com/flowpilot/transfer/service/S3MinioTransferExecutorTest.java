@@ -0,0 +1,201 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.domain.AttemptStatus;
+import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.JobKind;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.StorageType;
+import com.flowpilot.transfer.domain.TransferJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CopyPartResult;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyResponse;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class S3MinioTransferExecutorTest {
+    private static final long MB = 1024L * 1024L;
+
+    private final TransferStorageProperties properties = new TransferStorageProperties();
+    private final TransferMetrics metrics = new TransferMetrics(new SimpleMeterRegistry());
+    private final S3Client s3 = mock(S3Client.class);
+    private final Map<String, Integer> completedPartCounts = new ConcurrentHashMap<>();
+    private final Set<String> copyConditions = ConcurrentHashMap.newKeySet();
+    @TempDir
+    private Path volume;
+    private PartScheduler partScheduler;
+    private PartRetryPolicy retryPolicy;
+    private S3MinioTransferExecutor executor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties.getPrefix().setMaxPendingObjects(1);
+        properties.getLocal().getVolumes().put("scratch", volume);
+        partScheduler = new PartScheduler(properties, metrics);
+        retryPolicy = new PartRetryPolicy(properties, metrics);
+
+        S3ClientRegistry clientRegistry = mock(S3ClientRegistry.class);
+        S3ClientRegistry.Lease<S3Client> lease = mock(S3ClientRegistry.Lease.class);
+        when(lease.client()).thenReturn(s3);
+        when(clientRegistry.lease(any())).thenReturn(lease);
+
+        ChunkPlanTuner chunkPlanTuner = mock(ChunkPlanTuner.class);
+        when(chunkPlanTuner.resolve(any(), anyLong())).thenReturn(new ChunkPlan(5, 4));
+
+        TransferObjectResultService objectResultService = mock(TransferObjectResultService.class);
+        when(objectResultService.writer(any(), anyInt())).thenReturn(mock(TransferObjectResultService.Writer.class));
+
+        executor = new S3MinioTransferExecutor(
+                properties,
+                clientRegistry,
+                partScheduler,
+                mock(MultipartCheckpointService.class),
+                chunkPlanTuner,
+                metrics,
+                new TransferProgressRegistry(properties),
+                objectResultService,
+                new BandwidthLimiter(properties, metrics),
+                new PartBufferPool(properties, metrics),
+                retryPolicy,
+                new LocalStorage(properties)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        partScheduler.close();
+        retryPolicy.close();
+    }
+
+    @Test
+    void permanentPartFailureDoesNotTruncateOtherObjectsOfThePrefix() {
+        listSource();
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenAnswer(invocation -> {
+            CreateMultipartUploadRequest request = invocation.getArgument(0);
+            return CreateMultipartUploadResponse.builder().uploadId(request.key()).build();
+        });
+        when(s3.uploadPartCopy(any(UploadPartCopyRequest.class))).thenAnswer(invocation -> {
+            UploadPartCopyRequest request = invocation.getArgument(0);
+            copyConditions.add(request.sourceKey() + "@" + request.copySourceIfMatch());
+            if (request.sourceKey().equals("in/a-broken") && request.partNumber() == 2) {
+                throw S3Exception.builder().statusCode(403).message("Access Denied").build();
+            }
+            return UploadPartCopyResponse.builder()
+                    .copyPartResult(CopyPartResult.builder().eTag("part-" + request.partNumber()).build())
+                    .build();
+        });
+        when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class))).thenAnswer(invocation -> {
+            CompleteMultipartUploadRequest request = invocation.getArgument(0);
+            completedPartCounts.put(request.key(), request.multipartUpload().parts().size());
+            return CompleteMultipartUploadResponse.builder().build();
+        });
+        when(s3.abortMultipartUpload(any(AbortMultipartUploadRequest.class))).thenReturn(AbortMultipartUploadResponse.builder().build());
+
+        TransferJob job = prefixJob(new StorageEndpoint(StorageType.S3, "destination", "us-east-1", "out"));
+
+        TransferExecutionResult result = executor.execute(job, ExecutionOptions.success(0), new CancellationToken(job.getId()));
+
+        assertThat(result.status()).isEqualTo(AttemptStatus.FAILED);
+        assertThat(result.failureReason()).startsWith("1 of 3 objects failed");
+        assertThat(completedPartCounts).containsOnlyKeys("out/b-healthy", "out/c-healthy");
+        assertThat(completedPartCounts.values()).containsOnly(3);
+        assertThat(copyConditions).containsOnly("in/a-broken@broken", "in/b-healthy@healthy", "in/c-healthy@healthy");
+    }
+
+    @Test
+    void permanentPartFailureDoesNotCommitPartialLocalFiles() throws IOException {
+        listSource();
+        when(s3.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgument(0);
+            if (request.key().equals("in/a-broken") && request.range().startsWith("bytes=" + 5 * MB + "-")) {
+                throw S3Exception.builder().statusCode(403).message("Access Denied").build();
+            }
+            byte[] part = new byte[(int) (5 * MB)];
+            Arrays.fill(part, (byte) 1);
+            return new ResponseInputStream<>(GetObjectResponse.builder().contentLength((long) part.length).build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(part)));
+        });
+
+        TransferJob job = prefixJob(new StorageEndpoint(StorageType.LOCAL, "scratch", "local", "out"));
+
+        TransferExecutionResult result = executor.execute(job, ExecutionOptions.success(0), new CancellationToken(job.getId()));
+
+        assertThat(result.status()).isEqualTo(AttemptStatus.FAILED);
+        assertThat(result.failureReason()).startsWith("1 of 3 objects failed");
+        try (Stream<Path> files = Files.list(volume.resolve("out"))) {
+            assertThat(files.map(path -> path.getFileName().toString())).containsExactlyInAnyOrder("b-healthy", "c-healthy");
+        }
+        byte[] expected = new byte[(int) (15 * MB)];
+        Arrays.fill(expected, (byte) 1);
+        for (String name : List.of("b-healthy", "c-healthy")) {
+            assertThat(Files.readAllBytes(volume.resolve("out").resolve(name))).isEqualTo(expected);
+        }
+    }
+
+    private void listSource() {
+        when(s3.listObjectsV2Paginator(any(ListObjectsV2Request.class)))
+                .thenAnswer(invocation -> new ListObjectsV2Iterable(s3, invocation.getArgument(0)));
+        when(s3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(object("in/a-broken", "broken"), object("in/b-healthy", "healthy"), object("in/c-healthy", "healthy"))
+                .isTruncated(false)
+                .build());
+    }
+
+    private static TransferJob prefixJob(StorageEndpoint destination) {
+        return new TransferJob(
+                UUID.randomUUID(),
+                JobKind.PREFIX,
+                new StorageEndpoint(StorageType.S3, "source", "us-east-1", "in"),
+                destination,
+                null,
+                0,
+                5,
+                3,
+                null,
+                Instant.now()
+        );
+    }
+
+    private static S3Object object(String key, String eTag) {
+        return S3Object.builder().key(key).size(15 * MB).eTag(eTag).build();
+    }
+}
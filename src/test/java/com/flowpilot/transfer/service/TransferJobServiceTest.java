@@ -0,0 +1,51 @@
+package com.flowpilot.transfer.service;
+
+import com.flowpilot.transfer.api.CreateTransferJobRequest;
+import com.flowpilot.transfer.domain.ChunkPlan;
+import com.flowpilot.transfer.domain.JobStatus;
+import com.flowpilot.transfer.domain.StorageEndpoint;
+import com.flowpilot.transfer.domain.StorageType;
+import com.flowpilot.transfer.domain.TransferJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:transfer-job-service-test;DB_CLOSE_DELAY=-1")
+@DirtiesContext
+class TransferJobServiceTest {
+    @Autowired
+    private TransferJobService transferJobService;
+
+    @Autowired
+    private TransferDispatcher transferDispatcher;
+
+    @Test
+    void rejectedSubmissionReturnsTheJobToItsPreviousState() {
+        TransferJob job = transferJobService.createJob(new CreateTransferJobRequest(
+                new StorageEndpoint(StorageType.S3, "source", "us-east-1", null),
+                new StorageEndpoint(StorageType.S3, "destination", "us-east-1", null),
+                "object.bin",
+                1024,
+                5,
+                3,
+                new ChunkPlan(8, 4),
+                false
+        ));
+        int idleWorkers = transferDispatcher.idleWorkers();
+        transferDispatcher.close();
+
+        assertThatThrownBy(() -> transferJobService.startJob(job.getId(), ExecutionOptions.success(0)))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        TransferJob current = transferJobService.getJob(job.getId());
+        assertThat(current.getStatus()).isEqualTo(JobStatus.PENDING);
+        assertThat(current.getLeaseOwner()).isNull();
+        assertThat(transferDispatcher.idleWorkers()).isEqualTo(idleWorkers);
+    }
+}